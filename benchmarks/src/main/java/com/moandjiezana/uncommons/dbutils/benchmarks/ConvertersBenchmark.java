@@ -0,0 +1,62 @@
+package com.moandjiezana.uncommons.dbutils.benchmarks;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.moandjiezana.uncommons.dbutils.Converters;
+
+/**
+ * A single {@link Converters#convert(Class, Object)} call for common source and target types. Values are read from fields so they are not constant-folded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConvertersBenchmark {
+
+  private final Converters converters = Converters.INSTANCE;
+  private final Long longValue = 42L;
+  private final BigDecimal decimalValue = new BigDecimal("42.42");
+  private final Timestamp timestampValue = new Timestamp(1_400_000_000_000L);
+  private final String stringValue = "42";
+
+  @Benchmark
+  public Long sameType() {
+    return converters.convert(Long.class, longValue);
+  }
+
+  @Benchmark
+  public Number assignable() {
+    return converters.convert(Number.class, decimalValue);
+  }
+
+  /**
+   * Uses a registered {@link com.moandjiezana.uncommons.dbutils.Converter}.
+   */
+  @Benchmark
+  public Instant timestampToInstant() {
+    return converters.convert(Instant.class, timestampValue);
+  }
+
+  /**
+   * Uses Integer.valueOf(String).
+   */
+  @Benchmark
+  public Integer stringToInteger() {
+    return converters.convert(Integer.class, stringValue);
+  }
+}
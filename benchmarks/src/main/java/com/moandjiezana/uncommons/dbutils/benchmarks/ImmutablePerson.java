@@ -0,0 +1,51 @@
+package com.moandjiezana.uncommons.dbutils.benchmarks;
+
+import java.beans.ConstructorProperties;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+/**
+ * Mapped through its {@link ConstructorProperties} constructor.
+ */
+public class ImmutablePerson {
+  private final Long id;
+  private final String name;
+  private final String email;
+  private final int age;
+  private final BigDecimal balance;
+  private final Timestamp createdAt;
+
+  @ConstructorProperties({ "id", "name", "email", "age", "balance", "created_at" })
+  public ImmutablePerson(Long id, String name, String email, int age, BigDecimal balance, Timestamp createdAt) {
+    this.id = id;
+    this.name = name;
+    this.email = email;
+    this.age = age;
+    this.balance = balance;
+    this.createdAt = createdAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public int getAge() {
+    return age;
+  }
+
+  public BigDecimal getBalance() {
+    return balance;
+  }
+
+  public Timestamp getCreatedAt() {
+    return createdAt;
+  }
+}
@@ -0,0 +1,64 @@
+package com.moandjiezana.uncommons.dbutils.benchmarks;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+/**
+ * Mapped through its fields or its bean properties.
+ */
+public class Person {
+  private Long id;
+  private String name;
+  private String email;
+  private int age;
+  private BigDecimal balance;
+  private Timestamp createdAt;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public void setEmail(String email) {
+    this.email = email;
+  }
+
+  public int getAge() {
+    return age;
+  }
+
+  public void setAge(int age) {
+    this.age = age;
+  }
+
+  public BigDecimal getBalance() {
+    return balance;
+  }
+
+  public void setBalance(BigDecimal balance) {
+    this.balance = balance;
+  }
+
+  public Timestamp getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(Timestamp createdAt) {
+    this.createdAt = createdAt;
+  }
+}
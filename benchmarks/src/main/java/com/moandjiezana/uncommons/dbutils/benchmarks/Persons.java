@@ -0,0 +1,29 @@
+package com.moandjiezana.uncommons.dbutils.benchmarks;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import com.moandjiezana.uncommons.dbutils.testing.ResultSetShape;
+
+class Persons {
+
+  /**
+   * @param rows
+   *    the number of rows
+   * @return rows of the persons table, held in memory so that mapping can be measured without a database
+   */
+  static ResultSetShape shape(int rows) {
+    return ResultSetShape.builder(rows)
+      .table("persons")
+      .longColumn("id", i -> i)
+      .column("name", Types.VARCHAR, i -> "name" + i)
+      .column("email", Types.VARCHAR, i -> "person" + i + "@example.com")
+      .intColumn("age", i -> 20 + i % 50)
+      .column("balance", Types.DECIMAL, i -> BigDecimal.valueOf(i, 2))
+      .column("created_at", Types.TIMESTAMP, i -> new Timestamp(1_400_000_000_000L + i))
+      .build();
+  }
+
+  private Persons() {}
+}
@@ -0,0 +1,97 @@
+package com.moandjiezana.uncommons.dbutils.benchmarks;
+
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.fields;
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.noArgsCreator;
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.underscoresToCamel;
+import static com.moandjiezana.uncommons.dbutils.ResultSetHandler.list;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.moandjiezana.uncommons.dbutils.BatchOptions;
+import com.moandjiezana.uncommons.dbutils.BatchResult;
+import com.moandjiezana.uncommons.dbutils.ObjectRowProcessor;
+import com.moandjiezana.uncommons.dbutils.QueryRunner;
+import com.moandjiezana.uncommons.dbutils.ResultSetHandler;
+
+/**
+ * End-to-end calls against an in-memory H2 database, including the driver's own costs. Compare with {@link RowMappingBenchmark} to see how much of a SELECT is spent in mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class QueryRunnerBenchmark {
+
+  private static final String INSERT = "INSERT INTO persons(name, email, age, balance, created_at) VALUES(?, ?, ?, ?, ?)";
+
+  @Param({ "1", "100", "1000" })
+  int rows;
+
+  @Param({ "0", "16" })
+  int statementCache;
+
+  private Connection connection;
+  private QueryRunner queryRunner;
+  private ResultSetHandler<List<Person>> handler;
+  private List<List<?>> batch;
+
+  @Setup
+  public void setUp() throws Exception {
+    connection = DriverManager.getConnection("jdbc:h2:mem:");
+    queryRunner = QueryRunner.create(connection).withStatementCache(statementCache);
+    queryRunner.execute("CREATE TABLE persons(id IDENTITY, name VARCHAR(255), email VARCHAR(255), age INT, balance DECIMAL(12, 2), created_at TIMESTAMP)");
+    handler = list(new ObjectRowProcessor<>(noArgsCreator(Person.class), underscoresToCamel(fields(Person.class))));
+
+    batch = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      batch.add(Arrays.asList("name" + i, "person" + i + "@example.com", 20 + i % 50, BigDecimal.valueOf(i, 2), new Timestamp(1_400_000_000_000L + i)));
+    }
+    queryRunner.batch(INSERT, batch.iterator(), BatchOptions.DEFAULTS);
+  }
+
+  /**
+   * Keeps the table from growing across iterations of {@link #batch()}.
+   */
+  @Setup(Level.Iteration)
+  public void truncate() {
+    queryRunner.execute("DELETE FROM persons WHERE id > ?", (long) rows);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    connection.close();
+  }
+
+  @Benchmark
+  public List<Person> select() {
+    return queryRunner.select("SELECT id, name, email, age, balance, created_at FROM persons WHERE id <= ?", handler, (long) rows);
+  }
+
+  @Benchmark
+  public BatchResult batch() {
+    return queryRunner.batch(INSERT, batch.iterator(), BatchOptions.DEFAULTS);
+  }
+}
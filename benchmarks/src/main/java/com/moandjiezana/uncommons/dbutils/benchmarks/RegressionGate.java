@@ -0,0 +1,107 @@
+package com.moandjiezana.uncommons.dbutils.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Compares two JMH result files written with <code>-rf csv</code> and exits with status 1 if any score got worse by more than the tolerance.</p>
+ *
+ * <pre><code>
+ * java -cp target/benchmarks.jar com.moandjiezana.uncommons.dbutils.benchmarks.RegressionGate baseline.csv jmh-result.csv 10
+ * </code></pre>
+ *
+ * Rows are matched by benchmark name and parameters. All the benchmarks in this project report time or bytes per operation, so a higher score is worse.
+ * That includes the <code>gc.alloc.rate.norm</code> rows written by <code>-prof gc</code>, which makes allocation regressions fail the gate as well.
+ * Benchmarks that are only in one of the files are ignored.
+ */
+public class RegressionGate {
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3) {
+      System.err.println("Usage: RegressionGate <baseline.csv> <current.csv> <tolerance percent>");
+      System.exit(2);
+    }
+
+    Map<String, Double> baseline = read(args[0]);
+    Map<String, Double> current = read(args[1]);
+    double tolerance = Double.parseDouble(args[2]) / 100;
+
+    int regressions = 0;
+    for (Map.Entry<String, Double> entry : current.entrySet()) {
+      Double before = baseline.get(entry.getKey());
+      if (before == null || Double.isNaN(before) || Double.isNaN(entry.getValue())) {
+        continue;
+      }
+
+      double after = entry.getValue();
+      boolean regressed = after > before * (1 + tolerance);
+      if (regressed) {
+        regressions++;
+      }
+      System.out.printf("%s %s: %.3f -> %.3f (%+.1f%%)%n", regressed ? "FAIL" : "ok  ", entry.getKey(), before, after, before == 0 ? 0 : (after - before) * 100 / before);
+    }
+
+    if (regressions > 0) {
+      System.err.println(regressions + " benchmark(s) regressed by more than " + args[2] + "%");
+      System.exit(1);
+    }
+  }
+
+  /**
+   * @return the score of each row, keyed by benchmark name followed by its parameters
+   */
+  private static Map<String, Double> read(String file) throws IOException {
+    List<String> lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+    List<String> header = split(lines.get(0));
+    int benchmark = header.indexOf("Benchmark");
+    int score = header.indexOf("Score");
+
+    Map<String, Double> scores = new LinkedHashMap<>();
+    for (String line : lines.subList(1, lines.size())) {
+      List<String> values = split(line);
+      StringBuilder key = new StringBuilder(values.get(benchmark));
+      for (int i = 0; i < header.size(); i++) {
+        if (header.get(i).startsWith("Param: ") && i < values.size() && !values.get(i).isEmpty()) {
+          key.append(' ').append(header.get(i).substring("Param: ".length())).append('=').append(values.get(i));
+        }
+      }
+      scores.put(key.toString(), parse(values.get(score)));
+    }
+
+    return scores;
+  }
+
+  private static double parse(String score) {
+    try {
+      return Double.parseDouble(score.replace(',', '.'));
+    } catch (NumberFormatException e) {
+      return Double.NaN;
+    }
+  }
+
+  private static List<String> split(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == ',' && !quoted) {
+        values.add(value.toString());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    values.add(value.toString());
+
+    return values;
+  }
+}
@@ -0,0 +1,100 @@
+package com.moandjiezana.uncommons.dbutils.benchmarks;
+
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.beanInstanceCreator;
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.fields;
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.noArgsCreator;
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.properties;
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.underscoresToCamel;
+import static com.moandjiezana.uncommons.dbutils.ResultSetHandler.list;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.moandjiezana.uncommons.dbutils.ColumnRowProcessor;
+import com.moandjiezana.uncommons.dbutils.MapRowProcessor;
+import com.moandjiezana.uncommons.dbutils.ObjectRowProcessor;
+import com.moandjiezana.uncommons.dbutils.ResultSetHandler;
+import com.moandjiezana.uncommons.dbutils.RowProcessor;
+import com.moandjiezana.uncommons.dbutils.testing.ResultSetShape;
+
+/**
+ * Maps every row of a {@link ResultSetShape}, an in-memory {@link java.sql.ResultSet} whose getters do not allocate, so only the library's own mapping is measured.
+ * Each invocation opens a new cursor, as each query would, so per-{@link java.sql.ResultSet} setup such as resolving columns is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RowMappingBenchmark {
+
+  @Param({ "1", "100", "10000" })
+  int rows;
+
+  private ResultSetShape resultSet;
+  private ResultSetHandler<List<Person>> fields;
+  private ResultSetHandler<List<Person>> bean;
+  private ResultSetHandler<List<ImmutablePerson>> constructorProperties;
+  private ResultSetHandler<List<Map<String, Object>>> map;
+  private ResultSetHandler<List<String>> column;
+  private ResultSetHandler<List<Person>> fromTable;
+
+  @Setup
+  public void setUp() {
+    resultSet = Persons.shape(rows);
+    RowProcessor<Person> fieldsProcessor = new ObjectRowProcessor<>(noArgsCreator(Person.class), underscoresToCamel(fields(Person.class)));
+    fields = list(fieldsProcessor);
+    bean = list(new ObjectRowProcessor<>(beanInstanceCreator(Person.class), underscoresToCamel(properties(Person.class))));
+    constructorProperties = list(new ObjectRowProcessor<>(beanInstanceCreator(ImmutablePerson.class), underscoresToCamel(properties(ImmutablePerson.class))));
+    map = list(new MapRowProcessor());
+    column = list(ColumnRowProcessor.column("email", String.class));
+    fromTable = list(fieldsProcessor.fromTable("persons"));
+  }
+
+  @Benchmark
+  public List<Person> objectFields() throws Exception {
+    return fields.handle(resultSet.open());
+  }
+
+  @Benchmark
+  public List<Person> objectBean() throws Exception {
+    return bean.handle(resultSet.open());
+  }
+
+  @Benchmark
+  public List<ImmutablePerson> objectConstructorProperties() throws Exception {
+    return constructorProperties.handle(resultSet.open());
+  }
+
+  @Benchmark
+  public List<Map<String, Object>> map() throws Exception {
+    return map.handle(resultSet.open());
+  }
+
+  @Benchmark
+  public List<String> columnByLabel() throws Exception {
+    return column.handle(resultSet.open());
+  }
+
+  /**
+   * Goes through a ResultSetView, which remaps column indexes to those of a single table.
+   */
+  @Benchmark
+  public List<Person> objectFieldsFromTable() throws Exception {
+    return fromTable.handle(resultSet.open());
+  }
+}
@@ -0,0 +1,74 @@
+package com.moandjiezana.uncommons.dbutils.benchmarks;
+
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.fields;
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.noArgsCreator;
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.underscoresToCamel;
+import static com.moandjiezana.uncommons.dbutils.ResultSetHandler.list;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.moandjiezana.uncommons.dbutils.HistogramQueryListener;
+import com.moandjiezana.uncommons.dbutils.ObjectRowProcessor;
+import com.moandjiezana.uncommons.dbutils.QueryRunner;
+import com.moandjiezana.uncommons.dbutils.ResultSetHandler;
+import com.moandjiezana.uncommons.dbutils.testing.StubDataSource;
+
+/**
+ * The same calls as {@link QueryRunnerBenchmark}, against a {@link StubDataSource} instead of a database.
+ * What remains is the cost of QueryRunner itself: getting a connection, preparing and binding the statement, mapping and closing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StubQueryRunnerBenchmark {
+
+  @Param({ "1", "100", "1000" })
+  int rows;
+
+  /**
+   * With a {@link HistogramQueryListener}, to measure the cost of instrumentation.
+   */
+  @Param({ "false", "true" })
+  boolean listener;
+
+  private QueryRunner queryRunner;
+  private ResultSetHandler<List<Person>> handler;
+  private final Timestamp createdAt = new Timestamp(1_400_000_000_000L);
+
+  @Setup
+  public void setUp() {
+    queryRunner = QueryRunner.create(new StubDataSource(Persons.shape(rows)));
+    if (listener) {
+      queryRunner = queryRunner.withListener(new HistogramQueryListener());
+    }
+    handler = list(new ObjectRowProcessor<>(noArgsCreator(Person.class), underscoresToCamel(fields(Person.class))));
+  }
+
+  @Benchmark
+  public List<Person> select() {
+    return queryRunner.select("SELECT id, name, email, age, balance, created_at FROM persons WHERE id <= ?", handler, (long) rows);
+  }
+
+  @Benchmark
+  public int execute() {
+    return queryRunner.execute("UPDATE persons SET name = ?, email = ?, age = ?, balance = ?, created_at = ? WHERE id = ?", "name", "person@example.com", 20, BigDecimal.ONE, createdAt, 1L);
+  }
+}
@@ -0,0 +1,219 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.moandjiezana.uncommons.dbutils.AsyncQueryRunner.OverflowPolicy;
+import com.moandjiezana.uncommons.dbutils.functions.SupplierWithException;
+
+/**
+ * Lets at most maxInFlight tasks run on the {@link Executor} at the same time and holds up to maxQueued more in a FIFO queue.
+ * Tasks are only handed to the {@link Executor} when they can start, so a burst never piles up in the {@link Executor}'s own queue. Threadsafe.
+ */
+class AdmissionController {
+  
+  private final int maxInFlight;
+  private final int maxQueued;
+  private final OverflowPolicy overflowPolicy;
+  private final Queue<Task<?>> queue = new ArrayDeque<>();
+  private int inFlight;
+  
+  AdmissionController(int maxInFlight, int maxQueued, OverflowPolicy overflowPolicy) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("maxInFlight must be at least 1, but was " + maxInFlight);
+    }
+    if (maxQueued < 0) {
+      throw new IllegalArgumentException("maxQueued cannot be negative: " + maxQueued);
+    }
+    
+    this.maxInFlight = maxInFlight;
+    this.maxQueued = maxQueued;
+    this.overflowPolicy = overflowPolicy;
+  }
+  
+  <T> CompletableFuture<T> submit(SupplierWithException<T> supplier, Executor executor) {
+    return submit(new Task<>(supplier, executor, false));
+  }
+  
+  /**
+   * Takes a slot for work that spans several tasks, such as a query whose rows are read as they are requested. The slot is kept until the work is done, not
+   * when the returned {@link CompletableFuture} completes.
+   * 
+   * @return a {@link CompletableFuture} that completes on executor with a {@link Runnable} that gives the slot back. Only its first call has an effect.
+   */
+  CompletableFuture<Runnable> admit(Executor executor) {
+    AtomicReference<Task<Runnable>> task = new AtomicReference<>();
+    task.set(new Task<>(() -> {
+      AtomicBoolean released = new AtomicBoolean();
+      
+      return () -> {
+        if (task.get().counted && released.compareAndSet(false, true)) {
+          release();
+        }
+      };
+    }, executor, true));
+    
+    return submit(task.get());
+  }
+  
+  private <T> CompletableFuture<T> submit(Task<T> task) {
+    boolean callerRuns = false;
+    
+    synchronized (this) {
+      while (overflowPolicy == OverflowPolicy.BLOCK && inFlight >= maxInFlight && queue.size() >= maxQueued) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          task.future.completeExceptionally(e);
+          
+          return task.future;
+        }
+      }
+      
+      if (inFlight < maxInFlight) {
+        inFlight++;
+      } else if (queue.size() < maxQueued) {
+        queue.add(task);
+        
+        return task.future;
+      } else if (overflowPolicy != OverflowPolicy.CALLER_RUNS) {
+        task.future.completeExceptionally(new RejectedExecutionException("Too many queries: " + inFlight + " in flight and " + queue.size() + " queued"));
+        
+        return task.future;
+      } else {
+        callerRuns = true;
+      }
+    }
+    
+    if (callerRuns) {
+      task.counted = false;
+      task.run();
+    } else {
+      dispatch(task);
+    }
+    
+    return task.future;
+  }
+  
+  synchronized int queueDepth() {
+    return queue.size();
+  }
+  
+  synchronized int inFlight() {
+    return inFlight;
+  }
+  
+  private void release() {
+    Task<?> next = next();
+    
+    if (next != null) {
+      dispatch(next);
+    }
+  }
+  
+  /**
+   * @return the queued task that takes over the released slot, or null if the slot is free again
+   */
+  private synchronized Task<?> next() {
+    Task<?> next = queue.poll();
+    if (next == null) {
+      inFlight--;
+    }
+    notifyAll();
+    
+    return next;
+  }
+  
+  /**
+   * Hands task to its {@link Executor}. If the {@link Executor} runs it on the calling thread or rejects it, the following task is handed off by this loop
+   * instead of by a nested call, so that a long queue does not grow the stack.
+   */
+  private void dispatch(Task<?> task) {
+    while (task != null) {
+      Dispatch dispatch = new Dispatch(task);
+      synchronized (this) {
+        dispatch.handingOff = Thread.currentThread();
+      }
+      
+      try {
+        task.executor.execute(dispatch);
+      } catch (RejectedExecutionException e) {
+        task.future.completeExceptionally(e);
+        dispatch.rejected = true;
+      }
+      
+      synchronized (this) {
+        dispatch.handingOff = null;
+        task = dispatch.rejected ? next() : dispatch.inlineNext;
+      }
+    }
+  }
+  
+  private static class Task<T> {
+    final SupplierWithException<T> supplier;
+    final Executor executor;
+    final boolean holdsSlot;
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    volatile boolean counted = true;
+    
+    /**
+     * @param holdsSlot
+     *    true if the task's result gives the slot back, false if the slot is given back as soon as the task has run
+     */
+    Task(SupplierWithException<T> supplier, Executor executor, boolean holdsSlot) {
+      this.supplier = supplier;
+      this.executor = executor;
+      this.holdsSlot = holdsSlot;
+    }
+    
+    void run() {
+      try {
+        future.complete(supplier.get());
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      }
+    }
+  }
+  
+  /**
+   * Runs a task, then passes its slot on to the next queued task.
+   */
+  private class Dispatch implements Runnable {
+    private final Task<?> task;
+    private Thread handingOff;
+    private Task<?> inlineNext;
+    private boolean rejected;
+    
+    Dispatch(Task<?> task) {
+      this.task = task;
+    }
+    
+    @Override
+    public void run() {
+      try {
+        task.run();
+      } finally {
+        if (!task.holdsSlot) {
+          Task<?> next;
+          synchronized (AdmissionController.this) {
+            next = next();
+            if (handingOff == Thread.currentThread()) {
+              inlineNext = next;
+              next = null;
+            }
+          }
+          
+          if (next != null) {
+            dispatch(next);
+          }
+        }
+      }
+    }
+  }
+}
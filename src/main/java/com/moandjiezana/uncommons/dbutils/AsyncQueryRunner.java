@@ -1,5 +1,7 @@
 package com.moandjiezana.uncommons.dbutils;
 
+import java.sql.Connection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -12,15 +14,90 @@ import com.moandjiezana.uncommons.dbutils.functions.SupplierWithException;
  * 
  * @see QueryRunner#toAsync()
  * @see QueryRunner#toAsync(Executor)
+ * @see ReactiveQueries
  */
 public class AsyncQueryRunner {
+  
+  /**
+   * What happens to a query submitted when the maximum number of queries are already in flight and the queue is full.
+   * 
+   * @see AsyncQueryRunner#withAdmissionControl(int, int, OverflowPolicy)
+   */
+  public static enum OverflowPolicy {
+    /**
+     * The returned {@link CompletableFuture} fails with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    REJECT,
+    
+    /**
+     * The calling thread waits until there is room in the queue.
+     */
+    BLOCK,
+    
+    /**
+     * The query runs on the calling thread, which slows down the caller. Such queries are not counted as in flight.
+     */
+    CALLER_RUNS
+  }
 
   private final Executor executorService;
   private final QueryRunner queryRunner;
+  private final AdmissionController admissionController;
   
   AsyncQueryRunner(QueryRunner queryRunner, Executor executor) {
+    this(queryRunner, executor, null);
+  }
+  
+  private AsyncQueryRunner(QueryRunner queryRunner, Executor executor, AdmissionController admissionController) {
     this.queryRunner = queryRunner;
     this.executorService = executor;
+    this.admissionController = admissionController;
+  }
+  
+  /**
+   * <p>Limits how many queries are handed to the {@link Executor} at the same time, so that a burst of queries waits in a bounded queue
+   * instead of competing for connections. Queries leave the queue in the order they were submitted.</p>
+   * 
+   * <pre><code>
+   * AsyncQueryRunner asyncQueryRunner = queryRunner.toAsync(executor).withAdmissionControl(32, 1000, OverflowPolicy.REJECT);
+   * </code></pre>
+   * 
+   * <p>The limits are shared with the AsyncQueryRunners derived from the returned instance, such as via {@link #withStatementOptions(StatementOptions)}.</p>
+   * 
+   * @param maxInFlight
+   *    the maximum number of queries running at the same time, usually the size of the connection pool
+   * @param maxQueued
+   *    the maximum number of queries waiting to run
+   * @param overflowPolicy
+   *    what to do with queries submitted when the queue is full
+   * @return a new AsyncQueryRunner that uses the same {@link Executor}
+   */
+  public AsyncQueryRunner withAdmissionControl(int maxInFlight, int maxQueued, OverflowPolicy overflowPolicy) {
+    return new AsyncQueryRunner(queryRunner, executorService, new AdmissionController(maxInFlight, maxQueued, overflowPolicy));
+  }
+  
+  /**
+   * @return the number of queries waiting to run. Always 0 without {@link #withAdmissionControl(int, int, OverflowPolicy)}.
+   */
+  public int getQueueDepth() {
+    return admissionController != null ? admissionController.queueDepth() : 0;
+  }
+  
+  /**
+   * @return the number of queries handed to the {@link Executor} that have not completed yet. Always 0 without {@link #withAdmissionControl(int, int, OverflowPolicy)}.
+   */
+  public int getInFlight() {
+    return admissionController != null ? admissionController.inFlight() : 0;
+  }
+  
+  /**
+   * @param statementOptions
+   *    applied to each {@link java.sql.Statement} before it is executed
+   * @return a new AsyncQueryRunner that uses the same {@link Executor}
+   * @see QueryRunner#withStatementOptions(StatementOptions)
+   */
+  public AsyncQueryRunner withStatementOptions(StatementOptions statementOptions) {
+    return new AsyncQueryRunner(queryRunner.withStatementOptions(statementOptions), executorService, admissionController);
   }
   
   public <T> CompletableFuture<T> select(String sql, ResultSetHandler<T> resultSetHandler, Object... params) {
@@ -39,10 +116,52 @@ public class AsyncQueryRunner {
     return run(() -> queryRunner.batch(sql, params));
   }
   
+  /**
+   * @param sql
+   *    the SQL to execute
+   * @param batchParams
+   *    values for the SQL placeholders. Consumed on the {@link Executor}'s thread.
+   * @param batchOptions
+   *    when to execute a chunk and whether to commit it
+   * @return a {@link CompletableFuture} that completes when all the chunks have been executed
+   * @see QueryRunner#batch(String, Iterator, BatchOptions)
+   */
+  public CompletableFuture<BatchResult> batch(String sql, Iterator<? extends List<?>> batchParams, BatchOptions batchOptions) {
+    return run(() -> queryRunner.batch(sql, batchParams, batchOptions));
+  }
+  
   public <T> CompletableFuture<T> batchInsert(String sql, ResultSetHandler<T> resultSetHandler, List<List<Object>> batchParams) {
     return run(() -> queryRunner.batchInsert(sql, resultSetHandler, batchParams));
   }
   
+  /**
+   * @param sql
+   *    the INSERT to execute
+   * @param resultSetHandler
+   *    transforms the {@link java.sql.ResultSet}, which contains the generated keys
+   * @param batchParams
+   *    values for the SQL placeholders. Consumed on the {@link Executor}'s thread.
+   * @param batchOptions
+   *    how rows are split into chunks and inserted
+   * @param <T>
+   *    the type of instance to return
+   * @return a {@link CompletableFuture} that completes once all rows have been inserted
+   * @see QueryRunner#batchInsert(String, ResultSetHandler, Iterator, BatchOptions)
+   */
+  public <T> CompletableFuture<T> batchInsert(String sql, ResultSetHandler<T> resultSetHandler, Iterator<? extends List<?>> batchParams, BatchOptions batchOptions) {
+    return run(() -> queryRunner.batchInsert(sql, resultSetHandler, batchParams, batchOptions));
+  }
+  
+  /**
+   * Starts an {@link AsyncTransaction} on a {@link Connection} of its own, or on the {@link Connection} of a {@link Connection}-based {@link QueryRunner}.
+   * The {@link Connection} is held until {@link AsyncTransaction#commit()} or {@link AsyncTransaction#rollback()} is called, but no thread is.
+   * 
+   * @return a {@link CompletableFuture} that completes once auto-commit has been turned off
+   */
+  public CompletableFuture<AsyncTransaction> begin() {
+    return run(() -> queryRunner.beginAsync(executorService));
+  }
+  
   /**
    * @param txQueryRunner
    *    Make sure to use this {@link QueryRunner} in the transaction block
@@ -59,7 +178,23 @@ public class AsyncQueryRunner {
     });
   }
   
+  QueryRunner queryRunner() {
+    return queryRunner;
+  }
+  
+  Executor executor() {
+    return executorService;
+  }
+  
+  AdmissionController admissionController() {
+    return admissionController;
+  }
+  
   private <T> CompletableFuture<T> run(SupplierWithException<T> s) {
+    if (admissionController != null) {
+      return admissionController.submit(s, executorService);
+    }
+    
     return CompletableFuture.supplyAsync(() -> {
       try {
         return s.get();
@@ -0,0 +1,144 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.moandjiezana.uncommons.dbutils.functions.ConsumerWithException;
+import com.moandjiezana.uncommons.dbutils.functions.RunnableWithException;
+import com.moandjiezana.uncommons.dbutils.functions.SupplierWithException;
+
+/**
+ * <p>A transaction whose queries return {@link CompletableFuture}s, so it can be composed with other asynchronous work without holding a thread for its whole duration.</p>
+ * 
+ * <p>All queries run on the transaction's {@link Connection}, one at a time and in the order they were called, whichever thread calls them.
+ * {@link #commit()} and {@link #rollback()} end the transaction: auto-commit is restored and the {@link Connection} is released. Calls made after that fail.</p>
+ * 
+ * <pre><code>
+ * asyncQueryRunner.begin().thenCompose(tx -&gt;
+ *   tx.insert("INSERT INTO orders(customer_id) VALUES(?)", single(firstColumn(Long.class)), customerId)
+ *     .thenCompose(orderId -&gt; paymentService.authorize(orderId).thenApply(payment -&gt; orderId))
+ *     .thenCompose(orderId -&gt; tx.execute("UPDATE orders SET status = 'PAID' WHERE id = ?", orderId))
+ *     .thenCompose(updated -&gt; tx.commit())
+ *     .exceptionally(e -&gt; { tx.rollback(); throw new CompletionException(e); })
+ * );
+ * </code></pre>
+ * 
+ * @see AsyncQueryRunner#begin()
+ */
+public class AsyncTransaction {
+  
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncTransaction.class);
+  
+  private final QueryRunner queryRunner;
+  private final Connection connection;
+  private final Executor lane;
+  private final RunnableWithException end;
+  private final AtomicBoolean ended = new AtomicBoolean();
+  
+  AsyncTransaction(QueryRunner queryRunner, Connection connection, Executor lane, RunnableWithException end) {
+    this.queryRunner = queryRunner;
+    this.connection = connection;
+    this.lane = lane;
+    this.end = end;
+  }
+  
+  public <T> CompletableFuture<T> select(String sql, ResultSetHandler<T> resultSetHandler, Object... params) {
+    return run(() -> queryRunner.select(sql, resultSetHandler, params));
+  }
+  
+  public CompletableFuture<Integer> execute(String sql, Object... params) {
+    return run(() -> queryRunner.execute(sql, params));
+  }
+  
+  public <T> CompletableFuture<T> insert(String sql, ResultSetHandler<T> resultSetHandler, Object... params) {
+    return run(() -> queryRunner.insert(sql, resultSetHandler, params));
+  }
+  
+  public CompletableFuture<int[]> batch(String sql, List<List<Object>> batchParams) {
+    return run(() -> queryRunner.batch(sql, batchParams));
+  }
+  
+  /**
+   * Commits once the queries already called have completed, then ends the transaction.
+   * 
+   * @return a {@link CompletableFuture} that completes when the {@link Connection} has been released
+   */
+  public CompletableFuture<Void> commit() {
+    return finish("COMMIT", Connection::commit);
+  }
+  
+  /**
+   * Rolls back once the queries already called have completed, then ends the transaction. Does nothing if the transaction has already ended.
+   * 
+   * @return a {@link CompletableFuture} that completes when the {@link Connection} has been released
+   */
+  public CompletableFuture<Void> rollback() {
+    if (ended.get()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    
+    return finish("ROLLBACK", Connection::rollback);
+  }
+  
+  public boolean isEnded() {
+    return ended.get();
+  }
+  
+  /**
+   * Synchronized with {@link #run(SupplierWithException)}, so that no query can be queued after the end of the transaction.
+   */
+  private synchronized CompletableFuture<Void> finish(String action, ConsumerWithException<Connection> sqlAction) {
+    if (!ended.compareAndSet(false, true)) {
+      return ended();
+    }
+    
+    return submit(() -> {
+      try {
+        LOG.debug("Transaction: {}", action);
+        sqlAction.accept(connection);
+      } finally {
+        end.run();
+      }
+      
+      return null;
+    });
+  }
+  
+  private synchronized <T> CompletableFuture<T> run(SupplierWithException<T> query) {
+    if (ended.get()) {
+      return ended();
+    }
+    
+    return submit(query);
+  }
+  
+  private <T> CompletableFuture<T> submit(SupplierWithException<T> s) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      lane.execute(() -> {
+        try {
+          future.complete(s.get());
+        } catch (Throwable e) {
+          future.completeExceptionally(e);
+        }
+      });
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    
+    return future;
+  }
+  
+  private static <T> CompletableFuture<T> ended() {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(new IllegalStateException("Transaction has already ended"));
+    
+    return future;
+  }
+}
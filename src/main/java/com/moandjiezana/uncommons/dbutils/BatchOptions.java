@@ -0,0 +1,140 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Iterator;
+
+/**
+ * Controls how {@link QueryRunner#batch(String, Iterator, BatchOptions)} and {@link QueryRunner#batchInsert(String, ResultSetHandler, Iterator, BatchOptions)} split rows into chunks. Immutable.
+ * 
+ * <pre><code>
+ * BatchOptions nightly = BatchOptions.DEFAULTS.rows(5000).bytes(8 * 1024 * 1024).commitEachChunk(true);
+ * </code></pre>
+ */
+public final class BatchOptions {
+  
+  /**
+   * Executes a chunk every 1000 rows, without a size limit, intermediate commits or multi-row VALUES.
+   */
+  public static final BatchOptions DEFAULTS = new BatchOptions(1000, 0, false, false, 0);
+  
+  private final int rows;
+  private final long bytes;
+  private final boolean commitEachChunk;
+  private final boolean multiRowValues;
+  private final int maxParameters;
+  
+  /**
+   * @param rows
+   *    the maximum number of rows added to a {@link PreparedStatement} before it is executed. Must be positive.
+   * @return a copy of this instance with the given row limit
+   */
+  public BatchOptions rows(int rows) {
+    if (rows < 1) {
+      throw new IllegalArgumentException("A chunk must contain at least 1 row, but was " + rows);
+    }
+    
+    return new BatchOptions(rows, bytes, commitEachChunk, multiRowValues, maxParameters);
+  }
+  
+  /**
+   * Sizes are estimated from the parameters: the length of {@link CharSequence}s and byte arrays, 8 bytes for anything else.
+   * 
+   * @param bytes
+   *    the approximate size of the parameters added to a {@link PreparedStatement} before it is executed. 0 means there is no size limit.
+   * @return a copy of this instance with the given size limit
+   */
+  public BatchOptions bytes(long bytes) {
+    if (bytes < 0) {
+      throw new IllegalArgumentException("Chunk size cannot be negative: " + bytes);
+    }
+    
+    return new BatchOptions(rows, bytes, commitEachChunk, multiRowValues, maxParameters);
+  }
+  
+  /**
+   * <p>Auto-commit is turned off while the batch runs and restored afterwards.
+   * If a chunk fails, it is rolled back, but the chunks before it remain committed.</p>
+   * 
+   * <p>Ignored if auto-commit is already off, such as in {@link QueryRunner#tx(com.moandjiezana.uncommons.dbutils.functions.BiConsumerWithException)}: the transaction is left to the caller.</p>
+   * 
+   * @param commitEachChunk
+   *    true to call {@link Connection#commit()} after each chunk is executed
+   * @return a copy of this instance with the given commit behaviour
+   */
+  public BatchOptions commitEachChunk(boolean commitEachChunk) {
+    return new BatchOptions(rows, bytes, commitEachChunk, multiRowValues, maxParameters);
+  }
+  
+  /**
+   * <p>Only used by {@link QueryRunner#batchInsert(String, ResultSetHandler, Iterator, BatchOptions)}.</p>
+   * 
+   * <p>Instead of adding each row to a JDBC batch, rewrites <code>INSERT INTO t(a, b) VALUES (?, ?)</code> into <code>INSERT INTO t(a, b) VALUES (?, ?), (?, ?), ...</code>,
+   * so that each chunk is sent as a single statement. Many drivers execute a JDBC batch as one round trip per row.
+   * All placeholders must be inside the VALUES group, as the rest of the statement is not repeated for each row.</p>
+   * 
+   * @param multiRowValues
+   *    true to insert each chunk with a single multi-row VALUES statement
+   * @return a copy of this instance with the given insert behaviour
+   * @see #maxParameters(int)
+   */
+  public BatchOptions multiRowValues(boolean multiRowValues) {
+    return new BatchOptions(rows, bytes, commitEachChunk, multiRowValues, maxParameters);
+  }
+  
+  /**
+   * Limits the size of multi-row VALUES statements, e.g. to 2100 for SQL Server or 65535 for PostgreSQL. A chunk then contains at most <code>maxParameters / placeholders per row</code> rows.
+   * 
+   * @param maxParameters
+   *    the maximum number of placeholders in a single statement. 0 means the driver has no limit.
+   * @return a copy of this instance with the given parameter limit
+   * @see #multiRowValues(boolean)
+   */
+  public BatchOptions maxParameters(int maxParameters) {
+    if (maxParameters < 0) {
+      throw new IllegalArgumentException("Parameter limit cannot be negative: " + maxParameters);
+    }
+    
+    return new BatchOptions(rows, bytes, commitEachChunk, multiRowValues, maxParameters);
+  }
+  
+  public int getRows() {
+    return rows;
+  }
+  
+  public long getBytes() {
+    return bytes;
+  }
+  
+  public boolean isCommitEachChunk() {
+    return commitEachChunk;
+  }
+  
+  public boolean isMultiRowValues() {
+    return multiRowValues;
+  }
+  
+  public int getMaxParameters() {
+    return maxParameters;
+  }
+  
+  static long estimateSize(Object param) {
+    if (param instanceof CharSequence) {
+      return ((CharSequence) param).length();
+    }
+    
+    if (param instanceof byte[]) {
+      return ((byte[]) param).length;
+    }
+    
+    return 8;
+  }
+  
+  private BatchOptions(int rows, long bytes, boolean commitEachChunk, boolean multiRowValues, int maxParameters) {
+    this.rows = rows;
+    this.bytes = bytes;
+    this.commitEachChunk = commitEachChunk;
+    this.multiRowValues = multiRowValues;
+    this.maxParameters = maxParameters;
+  }
+}
@@ -0,0 +1,73 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.Statement;
+import java.util.Iterator;
+
+/**
+ * The update counts of a {@link QueryRunner#batch(String, Iterator, BatchOptions)}, aggregated over all of its chunks. Immutable.
+ */
+public final class BatchResult {
+  
+  private final long rows;
+  private final int chunks;
+  private final long updateCount;
+  private final long unknownCount;
+  
+  /**
+   * @return the number of parameter rows that were executed
+   */
+  public long getRows() {
+    return rows;
+  }
+  
+  /**
+   * @return the number of times the statement's batch was executed
+   */
+  public int getChunks() {
+    return chunks;
+  }
+  
+  /**
+   * @return the sum of the affected row counts reported by the driver
+   */
+  public long getUpdateCount() {
+    return updateCount;
+  }
+  
+  /**
+   * @return the number of rows the driver reported as {@link Statement#SUCCESS_NO_INFO}, which are not included in {@link #getUpdateCount()}
+   */
+  public long getUnknownCount() {
+    return unknownCount;
+  }
+  
+  @Override
+  public String toString() {
+    return "BatchResult [rows=" + rows + ", chunks=" + chunks + ", updateCount=" + updateCount + ", unknownCount=" + unknownCount + "]";
+  }
+  
+  BatchResult add(int[] updateCounts) {
+    long chunkUpdateCount = 0;
+    long chunkUnknownCount = 0;
+    for (int count : updateCounts) {
+      if (count >= 0) {
+        chunkUpdateCount += count;
+      } else if (count == Statement.SUCCESS_NO_INFO) {
+        chunkUnknownCount++;
+      }
+    }
+    
+    return new BatchResult(rows + updateCounts.length, chunks + 1, updateCount + chunkUpdateCount, unknownCount + chunkUnknownCount);
+  }
+  
+  BatchResult() {
+    this(0, 0, 0, 0);
+  }
+  
+  private BatchResult(long rows, int chunks, long updateCount, long unknownCount) {
+    this.rows = rows;
+    this.chunks = chunks;
+    this.updateCount = updateCount;
+    this.unknownCount = unknownCount;
+  }
+}
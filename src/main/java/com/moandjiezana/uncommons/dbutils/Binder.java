@@ -0,0 +1,25 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Sets a parameter of a {@link PreparedStatement}. The write-side counterpart of {@link Converter}.
+ * 
+ * @param <T>
+ *    The type of values to bind
+ */
+@FunctionalInterface
+public interface Binder<T> {
+  
+  /**
+   * @param statement
+   *    the statement whose parameter is set
+   * @param jdbcIndex
+   *    the parameter's index, starting at 1
+   * @param value
+   *    the value to bind. Never null.
+   * @throws SQLException if the driver rejects the value
+   */
+  void bind(PreparedStatement statement, int jdbcIndex, T value) throws SQLException;
+}
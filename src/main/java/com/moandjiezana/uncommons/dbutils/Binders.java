@@ -0,0 +1,85 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Groups {@link Binder}s together.
+ * 
+ * {@link Binders#INSTANCE} is a singleton that provides defaults and makes registered {@link Binder}s available globally.
+ * Use {@link #child()} to register {@link Binder}s without affecting other users of the singleton.
+ */
+public interface Binders {
+  
+  /**
+   * @param statement
+   *    the statement whose parameter is set
+   * @param jdbcIndex
+   *    the parameter's index, starting at 1
+   * @param value
+   *    the value to bind. Must not be null.
+   * @throws SQLException if the driver rejects the value
+   */
+  void bind(PreparedStatement statement, int jdbcIndex, Object value) throws SQLException;
+  
+  /**
+   * @param valueClass
+   *    the type handled by the {@link Binder}. Also used for its subclasses and implementations, unless they have a {@link Binder} of their own.
+   * @param binder
+   *    the {@link Binder}
+   * @param <T>
+   *    the type of the bound value
+   */
+  <T> void register(Class<T> valueClass, Binder<? super T> binder);
+  
+  /**
+   * <pre><code>
+   * Binders tenantBinders = Binders.INSTANCE.child();
+   * tenantBinders.register(Money.class, (statement, i, money) -&gt; statement.setBigDecimal(i, money.getAmount()));
+   * </code></pre>
+   * 
+   * @return a new instance whose {@link Binder}s are not visible to this one. Values it has no {@link Binder} for are delegated to this instance.
+   *    Lock-free for binding.
+   */
+  default Binders child() {
+    return new DefaultBinders(this);
+  }
+  
+  /**
+   * For drivers that do not accept {@link LocalDateTime}, {@link LocalDate} and {@link LocalTime} in {@link PreparedStatement#setObject(int, Object)}.
+   * 
+   * <pre><code>
+   * QueryRunner legacyQueryRunner = queryRunner.withBinders(Binders.INSTANCE.child().bindLocalTypesAsSqlTypes());
+   * </code></pre>
+   * 
+   * The values are converted with {@link Timestamp#valueOf(LocalDateTime)}, {@link Date#valueOf(LocalDate)} and {@link Time#valueOf(LocalTime)}, which use the JVM's default time zone.
+   * A {@link LocalDateTime} that does not exist in that time zone, such as one in a daylight saving time gap, is shifted by the length of the gap.
+   * 
+   * @return this instance, with {@link Binder}s registered for the local java.time types
+   */
+  default Binders bindLocalTypesAsSqlTypes() {
+    register(LocalDateTime.class, (statement, i, value) -> statement.setTimestamp(i, Timestamp.valueOf(value)));
+    register(LocalDate.class, (statement, i, value) -> statement.setDate(i, Date.valueOf(value)));
+    register(LocalTime.class, (statement, i, value) -> statement.setTime(i, Time.valueOf(value)));
+    
+    return this;
+  }
+  
+  /**
+   * A singleton that provides defaults and makes registered {@link Binder}s available globally.
+   * 
+   * Binds {@link String}, primitive wrappers, {@link java.math.BigDecimal}, byte arrays and {@link java.sql} date types with the matching {@link PreparedStatement}#setXxx() method.
+   * {@link Instant} is converted to a {@link Timestamp}.
+   * Anything else, including {@link LocalDateTime}, {@link LocalDate} and {@link LocalTime}, is passed to {@link PreparedStatement#setObject(int, Object)}. See {@link #bindLocalTypesAsSqlTypes()}.
+   * 
+   * The way a value is bound is resolved once per class. Safe to use and to register {@link Binder}s from multiple threads.
+   */
+  static final Binders INSTANCE = DefaultBinders.withDefaults();
+}
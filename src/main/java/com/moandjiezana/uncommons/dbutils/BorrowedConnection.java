@@ -0,0 +1,385 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.ClientInfoStatus;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Connection} handed out by a {@link ConnectionPool}. Every call goes straight to the physical {@link Connection}, without reflection or locking.
+ *
+ * Closing it closes the {@link Statement}s created through it that are still open and gives the physical {@link Connection} back, once.
+ * It cannot be unwrapped, so the physical {@link Connection} cannot outlive the loan.
+ */
+class BorrowedConnection implements Connection {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BorrowedConnection.class);
+
+  private final Connection physical;
+  private final Runnable release;
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @param physical
+   *    the pooled {@link Connection}
+   * @param release
+   *    gives physical back to the pool, called the first time this is closed
+   */
+  BorrowedConnection(Connection physical, Runnable release) {
+    this.physical = physical;
+    this.release = release;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      for (Statement statement : statements) {
+        try {
+          statement.close();
+        } catch (SQLException e) {
+          LOG.debug("Could not close statement", e);
+        }
+      }
+      statements.clear();
+    } finally {
+      release.run();
+    }
+  }
+
+  @Override
+  public boolean isClosed() throws SQLException {
+    return closed.get() || physical.isClosed();
+  }
+
+  @Override
+  public boolean isValid(int timeout) throws SQLException {
+    return !closed.get() && physical.isValid(timeout);
+  }
+
+  @Override
+  public void abort(Executor executor) throws SQLException {
+    open().abort(executor);
+    close();
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+
+    throw new SQLException("A pooled connection cannot be unwrapped to " + iface.getName());
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this);
+  }
+
+  @Override
+  public Statement createStatement() throws SQLException {
+    return track(open().createStatement());
+  }
+
+  @Override
+  public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+    return track(open().createStatement(resultSetType, resultSetConcurrency));
+  }
+
+  @Override
+  public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+    return track(open().createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql) throws SQLException {
+    return track(open().prepareStatement(sql));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+    return track(open().prepareStatement(sql, resultSetType, resultSetConcurrency));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+    return track(open().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+    return track(open().prepareStatement(sql, autoGeneratedKeys));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+    return track(open().prepareStatement(sql, columnIndexes));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+    return track(open().prepareStatement(sql, columnNames));
+  }
+
+  @Override
+  public CallableStatement prepareCall(String sql) throws SQLException {
+    return track(open().prepareCall(sql));
+  }
+
+  @Override
+  public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+    return track(open().prepareCall(sql, resultSetType, resultSetConcurrency));
+  }
+
+  @Override
+  public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+    return track(open().prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+  }
+
+  @Override
+  public String nativeSQL(String sql) throws SQLException {
+    return open().nativeSQL(sql);
+  }
+
+  @Override
+  public void setAutoCommit(boolean autoCommit) throws SQLException {
+    open().setAutoCommit(autoCommit);
+  }
+
+  @Override
+  public boolean getAutoCommit() throws SQLException {
+    return open().getAutoCommit();
+  }
+
+  @Override
+  public void commit() throws SQLException {
+    open().commit();
+  }
+
+  @Override
+  public void rollback() throws SQLException {
+    open().rollback();
+  }
+
+  @Override
+  public void rollback(Savepoint savepoint) throws SQLException {
+    open().rollback(savepoint);
+  }
+
+  @Override
+  public Savepoint setSavepoint() throws SQLException {
+    return open().setSavepoint();
+  }
+
+  @Override
+  public Savepoint setSavepoint(String name) throws SQLException {
+    return open().setSavepoint(name);
+  }
+
+  @Override
+  public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+    open().releaseSavepoint(savepoint);
+  }
+
+  @Override
+  public DatabaseMetaData getMetaData() throws SQLException {
+    return open().getMetaData();
+  }
+
+  @Override
+  public void setReadOnly(boolean readOnly) throws SQLException {
+    open().setReadOnly(readOnly);
+  }
+
+  @Override
+  public boolean isReadOnly() throws SQLException {
+    return open().isReadOnly();
+  }
+
+  @Override
+  public void setCatalog(String catalog) throws SQLException {
+    open().setCatalog(catalog);
+  }
+
+  @Override
+  public String getCatalog() throws SQLException {
+    return open().getCatalog();
+  }
+
+  @Override
+  public void setSchema(String schema) throws SQLException {
+    open().setSchema(schema);
+  }
+
+  @Override
+  public String getSchema() throws SQLException {
+    return open().getSchema();
+  }
+
+  @Override
+  public void setTransactionIsolation(int level) throws SQLException {
+    open().setTransactionIsolation(level);
+  }
+
+  @Override
+  public int getTransactionIsolation() throws SQLException {
+    return open().getTransactionIsolation();
+  }
+
+  @Override
+  public SQLWarning getWarnings() throws SQLException {
+    return open().getWarnings();
+  }
+
+  @Override
+  public void clearWarnings() throws SQLException {
+    open().clearWarnings();
+  }
+
+  @Override
+  public Map<String, Class<?>> getTypeMap() throws SQLException {
+    return open().getTypeMap();
+  }
+
+  @Override
+  public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+    open().setTypeMap(map);
+  }
+
+  @Override
+  public void setHoldability(int holdability) throws SQLException {
+    open().setHoldability(holdability);
+  }
+
+  @Override
+  public int getHoldability() throws SQLException {
+    return open().getHoldability();
+  }
+
+  @Override
+  public Clob createClob() throws SQLException {
+    return open().createClob();
+  }
+
+  @Override
+  public Blob createBlob() throws SQLException {
+    return open().createBlob();
+  }
+
+  @Override
+  public NClob createNClob() throws SQLException {
+    return open().createNClob();
+  }
+
+  @Override
+  public SQLXML createSQLXML() throws SQLException {
+    return open().createSQLXML();
+  }
+
+  @Override
+  public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+    return open().createArrayOf(typeName, elements);
+  }
+
+  @Override
+  public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+    return open().createStruct(typeName, attributes);
+  }
+
+  @Override
+  public void setClientInfo(String name, String value) throws SQLClientInfoException {
+    if (closed.get()) {
+      throw new SQLClientInfoException("Connection is closed", Collections.<String, ClientInfoStatus> emptyMap());
+    }
+
+    physical.setClientInfo(name, value);
+  }
+
+  @Override
+  public void setClientInfo(Properties properties) throws SQLClientInfoException {
+    if (closed.get()) {
+      throw new SQLClientInfoException("Connection is closed", Collections.<String, ClientInfoStatus> emptyMap());
+    }
+
+    physical.setClientInfo(properties);
+  }
+
+  @Override
+  public String getClientInfo(String name) throws SQLException {
+    return open().getClientInfo(name);
+  }
+
+  @Override
+  public Properties getClientInfo() throws SQLException {
+    return open().getClientInfo();
+  }
+
+  @Override
+  public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+    open().setNetworkTimeout(executor, milliseconds);
+  }
+
+  @Override
+  public int getNetworkTimeout() throws SQLException {
+    return open().getNetworkTimeout();
+  }
+
+  @Override
+  public String toString() {
+    return "Pooled" + physical;
+  }
+
+  private Connection open() throws SQLException {
+    if (closed.get()) {
+      throw new SQLException("Connection is closed", "08003");
+    }
+
+    return physical;
+  }
+
+  /**
+   * Forgets the {@link Statement}s that have already been closed, so a long loan does not accumulate them.
+   */
+  private <S extends Statement> S track(S statement) throws SQLException {
+    for (Statement tracked : statements) {
+      if (tracked.isClosed()) {
+        statements.remove(tracked);
+      }
+    }
+    statements.add(statement);
+
+    if (closed.get() && statements.remove(statement)) {
+      statement.close();
+      throw new SQLException("Connection is closed", "08003");
+    }
+
+    return statement;
+  }
+}
@@ -35,7 +35,7 @@ public class ColumnRowProcessor<T> implements RowProcessor<T> {
    * @return A {@link RowProcessor} that maps a column to an instance of T
    */
   public static <T> ColumnRowProcessor<T> column(int columnIndex) {
-    return new ColumnRowProcessor<T>(columnIndex, null, null);
+    return new ColumnRowProcessor<T>(columnIndex, null, null, Converters.INSTANCE);
   }
   
   /**
@@ -46,7 +46,7 @@ public class ColumnRowProcessor<T> implements RowProcessor<T> {
    * @return A {@link RowProcessor} that maps a column to an instance of T
    */
   public static <T> ColumnRowProcessor<T> column(String columnName) {
-    return new ColumnRowProcessor<T>(0, columnName, null);
+    return new ColumnRowProcessor<T>(0, columnName, null, Converters.INSTANCE);
   }
   
   /**
@@ -59,7 +59,22 @@ public class ColumnRowProcessor<T> implements RowProcessor<T> {
    * @return A {@link RowProcessor} that maps a column to an instance of T
    */
   public static <T> ColumnRowProcessor<T> column(int columnIndex, Class<T> objectClass) {
-    return new ColumnRowProcessor<T>(columnIndex, null, objectClass);
+    return column(columnIndex, objectClass, Converters.INSTANCE);
+  }
+  
+  /**
+   * @param columnIndex
+   *    The index of the column to retrieve from the {@link ResultSet}.
+   * @param objectClass
+   *    The class of the returned instance.
+   * @param converters
+   *    Converts the column to objectClass.
+   * @param <T>
+   *    The type of the mapped value
+   * @return A {@link RowProcessor} that maps a column to an instance of T
+   */
+  public static <T> ColumnRowProcessor<T> column(int columnIndex, Class<T> objectClass, Converters converters) {
+    return new ColumnRowProcessor<T>(columnIndex, null, objectClass, converters);
   }
   
   /**
@@ -72,12 +87,28 @@ public class ColumnRowProcessor<T> implements RowProcessor<T> {
    * @return A {@link RowProcessor} that maps a column to an instance of T
    */
   public static <T> ColumnRowProcessor<T> column(String columnName, Class<T> objectClass) {
-    return new ColumnRowProcessor<T>(0, columnName, objectClass);
+    return column(columnName, objectClass, Converters.INSTANCE);
+  }
+  
+  /**
+   * @param columnName
+   *    The name of the column to retrieve from the {@link ResultSet}.
+   * @param objectClass
+   *    The class of the returned instance.
+   * @param converters
+   *    Converts the column to objectClass.
+   * @param <T>
+   *    The type of the mapped value
+   * @return A {@link RowProcessor} that maps a column to an instance of T
+   */
+  public static <T> ColumnRowProcessor<T> column(String columnName, Class<T> objectClass, Converters converters) {
+    return new ColumnRowProcessor<T>(0, columnName, objectClass, converters);
   }
   
   private final int columnIndex;
   private final String columnName;
   private final Class<T> objectClass;
+  private final Converters converters;
 
   /**
    * @param rs
@@ -97,12 +128,13 @@ public class ColumnRowProcessor<T> implements RowProcessor<T> {
       return (T) raw;
     }
     
-    return Converters.INSTANCE.convert(objectClass, raw);
+    return ConvertersScope.resolve(converters).convert(objectClass, raw);
   }
 
-  private ColumnRowProcessor(int columnIndex, String columnName, Class<T> objectClass) {
+  private ColumnRowProcessor(int columnIndex, String columnName, Class<T> objectClass, Converters converters) {
     this.columnIndex = columnIndex;
     this.columnName = columnName;
     this.objectClass = objectClass;
+    this.converters = converters;
   }
 }
@@ -0,0 +1,287 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>A small pool of {@link Connection}s obtained from another {@link DataSource}, such as a driver's own or a wrapper around {@link java.sql.DriverManager}.
+ * Meant for tests and small deployments that do not need a full-featured pool.</p>
+ *
+ * <pre><code>
+ * try (ConnectionPool pool = ConnectionPool.create(h2DataSource, 10)) {
+ *   QueryRunner queryRunner = QueryRunner.create(pool);
+ * }
+ * </code></pre>
+ *
+ * <ul>
+ *  <li>At most maxSize {@link Connection}s are open at the same time. When they are all in use, {@link #getConnection()} waits up to the borrow timeout.</li>
+ *  <li>Idle {@link Connection}s are kept in a lock-free stack, so the most recently used one is handed out first.
+ *  Borrowing and returning only take or give back a permit and push or pop that stack; a borrower only waits when all maxSize are in use.</li>
+ *  <li>A {@link Connection} that has been idle for more than a second is validated with {@link Connection#isValid(int)} before being handed out.</li>
+ *  <li>{@link Connection}s idle for longer than the idle timeout are closed the next time the pool is used. There is no background thread.</li>
+ *  <li>Closing a borrowed {@link Connection} closes the {@link java.sql.Statement}s it created, rolls back any pending transaction, restores auto-commit and returns it to the pool.</li>
+ *  <li>Borrowed {@link Connection}s cannot be unwrapped, as the physical {@link Connection} must not be used once it has been returned.</li>
+ * </ul>
+ *
+ * Threadsafe.
+ */
+public final class ConnectionPool implements DataSource, AutoCloseable {
+
+  private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(ConnectionPool.class);
+  private static final long VALIDATION_BYPASS_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+  /**
+   * Idle {@link Connection}s are closed after 10 minutes and {@link #getConnection()} waits up to 30 seconds.
+   *
+   * @param dataSource
+   *    provides the physical {@link Connection}s
+   * @param maxSize
+   *    the maximum number of open {@link Connection}s
+   * @return a new, empty pool
+   */
+  public static ConnectionPool create(DataSource dataSource, int maxSize) {
+    return create(dataSource, maxSize, Duration.ofMinutes(10), Duration.ofSeconds(30));
+  }
+
+  /**
+   * @param dataSource
+   *    provides the physical {@link Connection}s
+   * @param maxSize
+   *    the maximum number of open {@link Connection}s
+   * @param idleTimeout
+   *    how long a {@link Connection} can remain unused before it is closed
+   * @param borrowTimeout
+   *    how long {@link #getConnection()} waits for a {@link Connection} to be returned when maxSize are in use
+   * @return a new, empty pool
+   */
+  public static ConnectionPool create(DataSource dataSource, int maxSize, Duration idleTimeout, Duration borrowTimeout) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be at least 1, but was " + maxSize);
+    }
+
+    return new ConnectionPool(dataSource, maxSize, idleTimeout.toNanos(), borrowTimeout.toNanos());
+  }
+
+  private final DataSource dataSource;
+  private final int maxSize;
+  private final long idleTimeoutNanos;
+  private final long borrowTimeoutNanos;
+  private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+  private final Semaphore permits;
+  private volatile boolean closed;
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (closed) {
+      throw new SQLException("Connection pool is closed");
+    }
+
+    evictIdle();
+
+    try {
+      if (!permits.tryAcquire(borrowTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        throw new SQLTransientConnectionException("No connection available after " + TimeUnit.NANOSECONDS.toMillis(borrowTimeoutNanos) + "ms, all " + maxSize + " are in use");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a connection", e);
+    }
+
+    try {
+      return borrow();
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * @throws SQLFeatureNotSupportedException always, as all pooled {@link Connection}s use the same credentials
+   */
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException("ConnectionPool does not support per-connection credentials");
+  }
+
+  /**
+   * @return the number of {@link Connection}s waiting in the pool
+   */
+  public int getIdleCount() {
+    return idle.size();
+  }
+
+  /**
+   * @return the number of {@link Connection}s currently borrowed
+   */
+  public int getActiveCount() {
+    return maxSize - permits.availablePermits();
+  }
+
+  /**
+   * Closes the idle {@link Connection}s. Borrowed {@link Connection}s are closed when they are returned.
+   */
+  @Override
+  public void close() {
+    closed = true;
+
+    for (PooledConnection connection = idle.pollFirst(); connection != null; connection = idle.pollFirst()) {
+      connection.closePhysical();
+    }
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return dataSource.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {
+    dataSource.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+    dataSource.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return dataSource.getLoginTimeout();
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    return dataSource.getParentLogger();
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+
+    return dataSource.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+  }
+
+  private Connection borrow() throws SQLException {
+    for (PooledConnection connection = idle.pollFirst(); connection != null; connection = idle.pollFirst()) {
+      long idleNanos = System.nanoTime() - connection.returnedAt;
+      if (idleNanos > idleTimeoutNanos) {
+        connection.closePhysical();
+      } else if (idleNanos > VALIDATION_BYPASS_NANOS && !connection.isValid()) {
+        LOG.debug("Discarding invalid connection");
+        connection.closePhysical();
+      } else {
+        return connection.borrow();
+      }
+    }
+
+    return new PooledConnection(dataSource.getConnection()).borrow();
+  }
+
+  private void giveBack(PooledConnection connection) {
+    try {
+      if (closed || !connection.reset()) {
+        connection.closePhysical();
+      } else {
+        connection.returnedAt = System.nanoTime();
+        idle.offerFirst(connection);
+      }
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * The least recently used {@link Connection}s are at the end of the deque.
+   */
+  private void evictIdle() {
+    long now = System.nanoTime();
+    for (PooledConnection oldest = idle.peekLast(); oldest != null && now - oldest.returnedAt > idleTimeoutNanos; oldest = idle.peekLast()) {
+      if (idle.removeLastOccurrence(oldest)) {
+        oldest.closePhysical();
+      }
+    }
+  }
+
+  private ConnectionPool(DataSource dataSource, int maxSize, long idleTimeoutNanos, long borrowTimeoutNanos) {
+    this.dataSource = dataSource;
+    this.maxSize = maxSize;
+    this.idleTimeoutNanos = idleTimeoutNanos;
+    this.borrowTimeoutNanos = borrowTimeoutNanos;
+    this.permits = new Semaphore(maxSize, true);
+  }
+
+  /**
+   * A physical {@link Connection}. Each time it is borrowed, it is handed out as a new {@link BorrowedConnection} that can only be closed once.
+   */
+  private class PooledConnection {
+    final Connection physical;
+    final boolean autoCommit;
+    volatile long returnedAt = System.nanoTime();
+
+    PooledConnection(Connection physical) throws SQLException {
+      this.physical = physical;
+      this.autoCommit = physical.getAutoCommit();
+    }
+
+    Connection borrow() {
+      return new BorrowedConnection(physical, () -> giveBack(this));
+    }
+
+    boolean isValid() {
+      try {
+        return physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+      } catch (SQLException e) {
+        return false;
+      }
+    }
+
+    /**
+     * @return false if the {@link Connection} could not be put back in its initial state
+     */
+    boolean reset() {
+      try {
+        if (!physical.getAutoCommit()) {
+          physical.rollback();
+        }
+        if (physical.getAutoCommit() != autoCommit) {
+          physical.setAutoCommit(autoCommit);
+        }
+        physical.clearWarnings();
+
+        return true;
+      } catch (SQLException e) {
+        LOG.debug("Could not reset connection", e);
+
+        return false;
+      }
+    }
+
+    void closePhysical() {
+      try {
+        physical.close();
+      } catch (SQLException e) {
+        LOG.debug("Could not close connection", e);
+      }
+    }
+  }
+}
@@ -1,26 +1,13 @@
 package com.moandjiezana.uncommons.dbutils;
 
-import java.io.IOException;
-import java.io.Reader;
-import java.io.StringWriter;
-import java.io.Writer;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.sql.Clob;
 import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Timestamp;
 import java.time.Instant;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
 
 /**
  * Groups {@link Converter}s together.
  * 
- * {@link Converters#INSTANCE} is a singleton that provides defaults and makes registered {@link Converter}s available globally
+ * {@link Converters#INSTANCE} is a singleton that provides defaults and makes registered {@link Converter}s available globally.
+ * Use {@link #child()} to register {@link Converter}s without affecting other users of the singleton.
  *
  */
 public interface Converters {
@@ -46,81 +33,27 @@ public interface Converters {
    */
   <T> void register(Class<T> targetClass, Converter<T> converter);
   
+  /**
+   * <pre><code>
+   * Converters tenantConverters = Converters.INSTANCE.child();
+   * tenantConverters.register(Money.class, (cl, value) -&gt; Money.of((BigDecimal) value, tenantCurrency));
+   * </code></pre>
+   * 
+   * @return a new instance whose {@link Converter}s are not visible to this one. Conversions it has no {@link Converter} for are delegated to this instance.
+   *    Lock-free for conversions.
+   */
+  default Converters child() {
+    return new DefaultConverters(this);
+  }
+  
   /**
    * A singleton that provides defaults and makes registered {@link Converter}s available globally.
    * 
    * Supports all types returned by {@link ResultSet}#getXxx() methods, {@link Instant} and any class with a static <code>valueOf(String)</code> method.
    * 
-   * If no conversion can be performed, returns <code>null</code>.
+   * If no conversion can be performed, throws an {@link IllegalArgumentException}.
+   * 
+   * The way a value is converted is resolved once per source and target class. Safe to use and to register {@link Converter}s from multiple threads.
    */
-  static final Converters INSTANCE = new Converters() {
-    private final Map<Class<?>, Converter<?>> converters = new HashMap<>();
-    
-    {
-      register(Instant.class, (cl, value) -> ((Timestamp) value).toInstant());
-      register(String.class, (cl, value) -> {
-        if (value instanceof Clob) {
-          return convertClob(value);
-        }
-        
-        return value.toString();
-      });
-    }
-
-    @Override
-    public <T> T convert(Class<T> targetClass, Object value) {
-      if (value == null) {
-        return null;
-      }
-      
-      if (targetClass.isAssignableFrom(value.getClass())) {
-        return targetClass.cast(value);
-      }
-      
-      if (converters.containsKey(targetClass)) {
-        @SuppressWarnings("unchecked")
-        Converter<T> converter = (Converter<T>) converters.get(targetClass);
-        
-        return converter.convert(targetClass, value);
-      }
-      
-      Optional<Method> valueOfMethod = Arrays.stream(targetClass.getMethods())
-        .filter(m -> Modifier.isStatic(m.getModifiers()))
-        .filter(m -> m.getName().equals("valueOf"))
-        .filter(m -> m.getParameterCount() == 1 && m.getParameterTypes()[0] == value.getClass())
-        .findFirst();
-      
-      if (valueOfMethod.isPresent()) {
-        try {
-          return targetClass.cast(valueOfMethod.get().invoke(null, value));
-        } catch (IllegalAccessException | InvocationTargetException e) {
-          throw new RuntimeException(e);
-        }
-      }
-      
-      throw new IllegalArgumentException("Cannot convert to " + targetClass.getName() + " from " + value.getClass());
-    }
-    
-    @Override
-    public <T> void register(Class<T> targetClass, Converter<T> converter) {
-      converters.put(targetClass, converter);
-    }
-
-    private String convertClob(Object value) {
-      try {
-        Reader input = ((Clob) value).getCharacterStream();
-        Writer output = new StringWriter();
-        char[] buffer = new char[4096];
-        int n = 0;
-        while (-1 != (n = input.read(buffer))) {
-          output.write(buffer, 0, n);
-        }
-        
-        return output.toString();
-      } catch (IOException | SQLException e) {
-        throw new RuntimeException(e);
-      }
-    }
-  };
+  static final Converters INSTANCE = DefaultConverters.withDefaults();
 }
-
@@ -0,0 +1,49 @@
+package com.moandjiezana.uncommons.dbutils;
+
+/**
+ * Holds the {@link Converters} of the {@link QueryRunner} whose {@link ResultSetHandler} or {@link RowProcessor} is running on the current thread.
+ *
+ * {@link RowProcessor}s created with {@link Converters#INSTANCE} use the {@link QueryRunner}'s {@link Converters} instead,
+ * while those given an explicit {@link Converters} keep using it.
+ */
+final class ConvertersScope {
+
+  private static final ThreadLocal<Converters> CURRENT = new ThreadLocal<>();
+
+  /**
+   * @param converters
+   *    the {@link Converters} a {@link RowProcessor} was created with
+   * @return the current {@link QueryRunner}'s {@link Converters} if converters is {@link Converters#INSTANCE}, otherwise converters
+   */
+  static Converters resolve(Converters converters) {
+    if (converters != Converters.INSTANCE) {
+      return converters;
+    }
+
+    Converters current = CURRENT.get();
+
+    return current != null ? current : converters;
+  }
+
+  /**
+   * @param converters
+   *    the {@link Converters} to use until {@link #exit(Converters)} is called
+   * @return the previous {@link Converters}, to be passed to {@link #exit(Converters)}
+   */
+  static Converters enter(Converters converters) {
+    Converters previous = CURRENT.get();
+    CURRENT.set(converters);
+
+    return previous;
+  }
+
+  static void exit(Converters previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+
+  private ConvertersScope() {}
+}
@@ -0,0 +1,131 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves the {@link Binder} for each value class once. Superclasses are tried first, then interfaces, breadth-first from the value class,
+ * so the closest interface wins.
+ * 
+ * Like {@link DefaultConverters}, registered {@link Binder}s are kept in an immutable snapshot that is replaced by {@link #register(Class, Binder)}, along with its resolution cache.
+ * 
+ * A child instance only resolves its own {@link Binder}s and delegates everything else to its parent, so changes to the parent remain visible.
+ */
+class DefaultBinders implements Binders {
+  
+  private static final Binder<Object> SET_OBJECT = (statement, i, value) -> statement.setObject(i, value);
+  
+  static DefaultBinders withDefaults() {
+    DefaultBinders binders = new DefaultBinders();
+    binders.register(String.class, (statement, i, value) -> statement.setString(i, value));
+    binders.register(Long.class, (statement, i, value) -> statement.setLong(i, value));
+    binders.register(Integer.class, (statement, i, value) -> statement.setInt(i, value));
+    binders.register(Short.class, (statement, i, value) -> statement.setShort(i, value));
+    binders.register(Byte.class, (statement, i, value) -> statement.setByte(i, value));
+    binders.register(Double.class, (statement, i, value) -> statement.setDouble(i, value));
+    binders.register(Float.class, (statement, i, value) -> statement.setFloat(i, value));
+    binders.register(Boolean.class, (statement, i, value) -> statement.setBoolean(i, value));
+    binders.register(BigDecimal.class, (statement, i, value) -> statement.setBigDecimal(i, value));
+    binders.register(byte[].class, (statement, i, value) -> statement.setBytes(i, value));
+    binders.register(Timestamp.class, (statement, i, value) -> statement.setTimestamp(i, value));
+    binders.register(Date.class, (statement, i, value) -> statement.setDate(i, value));
+    binders.register(Time.class, (statement, i, value) -> statement.setTime(i, value));
+    binders.register(Instant.class, (statement, i, value) -> statement.setTimestamp(i, Timestamp.from(value)));
+    
+    return binders;
+  }
+  
+  private final Binders parent;
+  private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap());
+  
+  DefaultBinders() {
+    this(null);
+  }
+  
+  /**
+   * @param parent
+   *    binds the values this instance has no registered {@link Binder} for. Can be null.
+   */
+  DefaultBinders(Binders parent) {
+    this.parent = parent;
+  }
+  
+  @Override
+  public void bind(PreparedStatement statement, int jdbcIndex, Object value) throws SQLException {
+    @SuppressWarnings("unchecked")
+    Binder<Object> binder = (Binder<Object>) snapshot.binderFor(value.getClass());
+    
+    binder.bind(statement, jdbcIndex, value);
+  }
+  
+  @Override
+  public synchronized <T> void register(Class<T> valueClass, Binder<? super T> binder) {
+    Map<Class<?>, Binder<?>> binders = new HashMap<>(snapshot.binders);
+    binders.put(valueClass, binder);
+    snapshot = new Snapshot(binders);
+  }
+  
+  private class Snapshot {
+    final Map<Class<?>, Binder<?>> binders;
+    final ConcurrentMap<Class<?>, Binder<?>> resolved = new ConcurrentHashMap<>();
+    
+    Snapshot(Map<Class<?>, Binder<?>> binders) {
+      this.binders = binders;
+    }
+    
+    Binder<?> binderFor(Class<?> valueClass) {
+      Binder<?> binder = resolved.get(valueClass);
+      if (binder == null) {
+        binder = resolved.computeIfAbsent(valueClass, this::resolve);
+      }
+      
+      return binder;
+    }
+    
+    private Binder<?> resolve(Class<?> valueClass) {
+      for (Class<?> c = valueClass; c != null; c = c.getSuperclass()) {
+        if (binders.containsKey(c)) {
+          return binders.get(c);
+        }
+      }
+      
+      Queue<Class<?>> interfaces = new ArrayDeque<>();
+      for (Class<?> c = valueClass; c != null; c = c.getSuperclass()) {
+        Collections.addAll(interfaces, c.getInterfaces());
+      }
+      
+      Set<Class<?>> visited = new HashSet<>();
+      while (!interfaces.isEmpty()) {
+        Class<?> i = interfaces.poll();
+        if (!visited.add(i)) {
+          continue;
+        }
+        
+        if (binders.containsKey(i)) {
+          return binders.get(i);
+        }
+        Collections.addAll(interfaces, i.getInterfaces());
+      }
+      
+      if (parent != null) {
+        return (statement, i, value) -> parent.bind(statement, i, value);
+      }
+      
+      return SET_OBJECT;
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves the {@link Converter} for each pair of source and target classes once, including failed resolutions.
+ * 
+ * Registered {@link Converter}s are kept in an immutable snapshot that is replaced by {@link #register(Class, Converter)}, along with its resolution cache,
+ * so conversions never take a lock and never see a stale resolution.
+ * 
+ * A child instance only resolves its own {@link Converter}s and delegates everything else to its parent, so changes to the parent remain visible.
+ */
+class DefaultConverters implements Converters {
+  
+  private static final MethodType VALUE_OF_TYPE = MethodType.methodType(Object.class, Object.class);
+  
+  static DefaultConverters withDefaults() {
+    DefaultConverters converters = new DefaultConverters();
+    converters.register(Instant.class, (cl, value) -> ((Timestamp) value).toInstant());
+    converters.register(String.class, (cl, value) -> {
+      if (value instanceof Clob) {
+        return convertClob(value);
+      }
+      
+      return value.toString();
+    });
+    
+    return converters;
+  }
+  
+  private final Converters parent;
+  private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap());
+  
+  DefaultConverters() {
+    this(null);
+  }
+  
+  /**
+   * @param parent
+   *    handles the conversions this instance has no registered {@link Converter} for. Can be null.
+   */
+  DefaultConverters(Converters parent) {
+    this.parent = parent;
+  }
+
+  /**
+   * Used to decide whether primitives and their wrappers can be read with the matching {@link java.sql.ResultSet} getter instead of being converted.
+   * 
+   * @return true if targetClass has a {@link Converter} registered in converters or in one of its parents.
+   *    Always false for other implementations of {@link Converters}, as they cannot tell which classes they have a {@link Converter} for.
+   */
+  static boolean hasConverter(Converters converters, Class<?> targetClass) {
+    if (!(converters instanceof DefaultConverters)) {
+      return false;
+    }
+    
+    DefaultConverters defaultConverters = (DefaultConverters) converters;
+    if (defaultConverters.snapshot.converters.containsKey(targetClass)) {
+      return true;
+    }
+    
+    return defaultConverters.parent != null && hasConverter(defaultConverters.parent, targetClass);
+  }
+
+  @Override
+  public <T> T convert(Class<T> targetClass, Object value) {
+    if (value == null) {
+      return null;
+    }
+    
+    @SuppressWarnings("unchecked")
+    Converter<T> converter = (Converter<T>) snapshot.converterFor(targetClass, value.getClass());
+    
+    return converter.convert(targetClass, value);
+  }
+  
+  @Override
+  public synchronized <T> void register(Class<T> targetClass, Converter<T> converter) {
+    Map<Class<?>, Converter<?>> converters = new HashMap<>(snapshot.converters);
+    converters.put(targetClass, converter);
+    snapshot = new Snapshot(converters);
+  }
+  
+  private class Snapshot {
+    final Map<Class<?>, Converter<?>> converters;
+    final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Converter<?>>> resolved = new ConcurrentHashMap<>();
+    
+    Snapshot(Map<Class<?>, Converter<?>> converters) {
+      this.converters = converters;
+    }
+    
+    Converter<?> converterFor(Class<?> targetClass, Class<?> sourceClass) {
+      ConcurrentMap<Class<?>, Converter<?>> targetConverters = resolved.get(targetClass);
+      if (targetConverters == null) {
+        targetConverters = resolved.computeIfAbsent(targetClass, c -> new ConcurrentHashMap<>());
+      }
+      
+      Converter<?> converter = targetConverters.get(sourceClass);
+      if (converter == null) {
+        converter = targetConverters.computeIfAbsent(sourceClass, c -> resolve(targetClass, sourceClass));
+      }
+      
+      return converter;
+    }
+    
+    private Converter<?> resolve(Class<?> targetClass, Class<?> sourceClass) {
+      if (targetClass.isAssignableFrom(sourceClass)) {
+        return (cl, value) -> value;
+      }
+      
+      if (converters.containsKey(targetClass)) {
+        return converters.get(targetClass);
+      }
+      
+      if (parent != null) {
+        return (cl, value) -> parent.convert(cl, value);
+      }
+      
+      Optional<Method> valueOfMethod = Arrays.stream(targetClass.getMethods())
+        .filter(m -> Modifier.isStatic(m.getModifiers()))
+        .filter(m -> m.getName().equals("valueOf"))
+        .filter(m -> m.getParameterCount() == 1 && m.getParameterTypes()[0] == sourceClass)
+        .findFirst();
+      
+      if (valueOfMethod.isPresent()) {
+        try {
+          MethodHandle valueOf = MethodHandles.publicLookup().unreflect(valueOfMethod.get()).asType(VALUE_OF_TYPE);
+          
+          return (cl, value) -> {
+            try {
+              return targetClass.cast((Object) valueOf.invokeExact(value));
+            } catch (RuntimeException | Error e) {
+              throw e;
+            } catch (Throwable e) {
+              throw new RuntimeException(e);
+            }
+          };
+        } catch (IllegalAccessException e) {
+          return (cl, value) -> { throw new RuntimeException(e); };
+        }
+      }
+      
+      return (cl, value) -> { throw new IllegalArgumentException("Cannot convert to " + targetClass.getName() + " from " + sourceClass); };
+    }
+  }
+
+  private static String convertClob(Object value) {
+    try {
+      Reader input = ((Clob) value).getCharacterStream();
+      Writer output = new StringWriter();
+      char[] buffer = new char[4096];
+      int n = 0;
+      while (-1 != (n = input.read(buffer))) {
+        output.write(buffer, 0, n);
+      }
+      
+      return output.toString();
+    } catch (IOException | SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
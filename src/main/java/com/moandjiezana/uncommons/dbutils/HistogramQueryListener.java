@@ -0,0 +1,167 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Keeps a {@link LatencyHistogram} of the total duration of each distinct SQL statement, to find slow queries in production.</p>
+ *
+ * <pre><code>
+ * HistogramQueryListener metrics = new HistogramQueryListener();
+ * QueryRunner queryRunner = QueryRunner.create(dataSource).withListener(metrics);
+ * // later
+ * metrics.getSlowest(10, stats -&gt; stats.getLatency().getValueAtPercentile(99)).forEach(stats -&gt; LOG.info("{}", stats));
+ * </code></pre>
+ *
+ * <p>Statements are keyed by their SQL text, so use placeholders rather than concatenating values into the SQL.
+ * To bound memory use, at most maxStatements distinct statements are tracked. Further statements are only counted in {@link #getAll()}.
+ * Transactions are tracked separately, in {@link #getTransactions()}.</p>
+ *
+ * Threadsafe.
+ */
+public final class HistogramQueryListener implements QueryListener {
+
+  /**
+   * The latency, row count and error count of a single SQL statement. Threadsafe.
+   */
+  public static final class QueryStats {
+    private final String sql;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public String getSql() {
+      return sql;
+    }
+
+    /**
+     * @return the total duration of each execution, in nanoseconds
+     */
+    public LatencyHistogram getLatency() {
+      return latency;
+    }
+
+    /**
+     * @return the sum of {@link QueryEvent#getRows()} over all executions that reported one
+     */
+    public long getRows() {
+      return rows.sum();
+    }
+
+    /**
+     * @return the number of executions that failed
+     */
+    public long getErrors() {
+      return errors.sum();
+    }
+
+    @Override
+    public String toString() {
+      return "QueryStats [sql=" + sql + ", latency=" + latency + ", rows=" + getRows() + ", errors=" + getErrors() + "]";
+    }
+
+    void record(QueryEvent event) {
+      latency.record(event.getTotalNanos());
+      if (event.getRows() > 0) {
+        rows.add(event.getRows());
+      }
+      if (!event.isSuccess()) {
+        errors.increment();
+      }
+    }
+
+    private QueryStats(String sql) {
+      this.sql = sql;
+    }
+  }
+
+  private final int maxStatements;
+  private final ConcurrentMap<String, QueryStats> statements = new ConcurrentHashMap<>();
+  private final QueryStats all = new QueryStats(null);
+  private final QueryStats transactions = new QueryStats(null);
+
+  /**
+   * Tracks up to 1000 distinct statements.
+   */
+  public HistogramQueryListener() {
+    this(1000);
+  }
+
+  /**
+   * @param maxStatements
+   *    the maximum number of distinct SQL statements to track individually. Each one uses about 8KB.
+   */
+  public HistogramQueryListener(int maxStatements) {
+    if (maxStatements < 0) {
+      throw new IllegalArgumentException("maxStatements cannot be negative: " + maxStatements);
+    }
+
+    this.maxStatements = maxStatements;
+  }
+
+  @Override
+  public void onQuery(QueryEvent event) {
+    if (event.getOperation() == QueryEvent.Operation.TRANSACTION) {
+      transactions.record(event);
+      return;
+    }
+
+    all.record(event);
+
+    QueryStats stats = statements.get(event.getSql());
+    if (stats == null && statements.size() < maxStatements) {
+      stats = statements.computeIfAbsent(event.getSql(), QueryStats::new);
+    }
+    if (stats != null) {
+      stats.record(event);
+    }
+  }
+
+  /**
+   * @return the stats of every query, whether or not its statement is tracked individually
+   */
+  public QueryStats getAll() {
+    return all;
+  }
+
+  public QueryStats getTransactions() {
+    return transactions;
+  }
+
+  /**
+   * @param sql
+   *    the SQL, exactly as given to the {@link QueryRunner}
+   * @return the stats of the statement, or null if it has not been run or is not tracked
+   */
+  public QueryStats get(String sql) {
+    return statements.get(sql);
+  }
+
+  /**
+   * @return the stats of each tracked statement, in no particular order
+   */
+  public Collection<QueryStats> getStatements() {
+    return Collections.unmodifiableCollection(statements.values());
+  }
+
+  /**
+   * @param limit
+   *    the maximum number of statements to return
+   * @param metric
+   *    what to sort by, eg. <code>stats -&gt; stats.getLatency().getMax()</code>
+   * @return the tracked statements with the highest values of metric, highest first
+   */
+  public List<QueryStats> getSlowest(int limit, ToLongFunction<QueryStats> metric) {
+    return statements.values().stream()
+      .sorted(Comparator.comparingLong(metric).reversed())
+      .limit(limit)
+      .collect(Collectors.toList());
+  }
+}
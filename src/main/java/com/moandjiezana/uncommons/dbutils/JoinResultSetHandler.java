@@ -0,0 +1,186 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.moandjiezana.uncommons.dbutils.functions.BiConsumerWithException;
+
+/**
+ * <p>Converts a joined {@link ResultSet} to a {@link List} of parents, each combined with its children, in a single pass over the rows.</p>
+ *
+ * <pre><code>
+ * JoinResultSetHandler&lt;Order&gt; handler = JoinResultSetHandler.from("orders", "id", fieldsProcessor(Order.class))
+ *   .join("order_lines", "id", fieldsProcessor(OrderLine.class), (order, line) -&gt; order.lines.add(line))
+ *   .join("payments", "id", fieldsProcessor(Payment.class), (order, payment) -&gt; order.payments.add(payment));
+ *
+ * List&lt;Order&gt; orders = queryRunner.select("SELECT * FROM orders o JOIN order_lines l ON l.order_id = o.id LEFT JOIN payments p ON p.order_id = o.id", handler);
+ * </code></pre>
+ *
+ * <ul>
+ *  <li>The columns are split by table once per {@link ResultSet}, using {@link java.sql.ResultSetMetaData#getTableName(int)}, and each {@link RowProcessor} only sees the columns of its own table.
+ *  There is no need to call {@link RowProcessor#fromTable(String)}. As a result, a table cannot be joined to itself.</li>
+ *  <li>Rows are identified by their key column. Each parent and each child is mapped once, the first time its key is seen, and each child is passed to the combiner at most once per parent,
+ *  even when joining several tables repeats it across rows. A child shared by several parents is the same instance in each.</li>
+ *  <li>Rows whose key is null, such as a LEFT JOIN without a match, are skipped.</li>
+ * </ul>
+ *
+ * Parents are returned in the order in which they first appear. Immutable and threadsafe if the {@link RowProcessor}s are.
+ * Give each join its own {@link RowProcessor} instance: an {@link ObjectRowProcessor} shared by two joins would resolve its columns again on every row.
+ *
+ * @param <P>
+ *    the type of the parents
+ */
+public class JoinResultSetHandler<P> implements ResultSetHandler<List<P>> {
+
+  /**
+   * @param table
+   *    the parent table
+   * @param keyColumn
+   *    the label of the parent table's primary key
+   * @param rowProcessor
+   *    creates a parent from the parent table's columns
+   * @param <P>
+   *    the type of the parents
+   * @return a handler without any joins
+   */
+  public static <P> JoinResultSetHandler<P> from(String table, String keyColumn, RowProcessor<P> rowProcessor) {
+    return new JoinResultSetHandler<>(table, keyColumn, rowProcessor, Collections.emptyList());
+  }
+
+  private final String table;
+  private final String keyColumn;
+  private final RowProcessor<P> rowProcessor;
+  private final List<Join<P, ?>> joins;
+
+  /**
+   * @param table
+   *    the child table
+   * @param keyColumn
+   *    the label of the child table's primary key
+   * @param rowProcessor
+   *    creates a child from the child table's columns
+   * @param combiner
+   *    adds a child to its parent
+   * @param <C>
+   *    the type of the children
+   * @return a new handler that also maps the given table
+   */
+  public <C> JoinResultSetHandler<P> join(String table, String keyColumn, RowProcessor<C> rowProcessor, BiConsumerWithException<P, C> combiner) {
+    List<Join<P, ?>> newJoins = new ArrayList<>(joins);
+    newJoins.add(new Join<>(table, keyColumn, rowProcessor, combiner));
+
+    return new JoinResultSetHandler<>(this.table, this.keyColumn, this.rowProcessor, Collections.unmodifiableList(newJoins));
+  }
+
+  /**
+   * @return an empty {@link List} if the {@link ResultSet} is empty
+   */
+  @Override
+  public List<P> handle(ResultSet rs) throws Exception {
+    ResultSetView view = new ResultSetView(rs, table);
+    int keyColumnIndex = view.findColumn(keyColumn);
+    List<Join<P, ?>.Cursor> cursors = new ArrayList<>(joins.size());
+    for (Join<P, ?> join : joins) {
+      cursors.add(join.open(rs));
+    }
+
+    Map<Object, Parent<P>> parents = new LinkedHashMap<>();
+    while (rs.next()) {
+      Object key = view.getObject(keyColumnIndex);
+      if (key == null) {
+        continue;
+      }
+
+      Parent<P> parent = parents.get(key);
+      if (parent == null) {
+        parent = new Parent<>(rowProcessor.handle(view), cursors.size());
+        parents.put(key, parent);
+      }
+
+      for (int i = 0; i < cursors.size(); i++) {
+        cursors.get(i).combine(parent.value, parent.childKeys.get(i));
+      }
+    }
+
+    List<P> values = new ArrayList<>(parents.size());
+    for (Parent<P> parent : parents.values()) {
+      values.add(parent.value);
+    }
+
+    return values;
+  }
+
+  private JoinResultSetHandler(String table, String keyColumn, RowProcessor<P> rowProcessor, List<Join<P, ?>> joins) {
+    this.table = table;
+    this.keyColumn = keyColumn;
+    this.rowProcessor = rowProcessor;
+    this.joins = joins;
+  }
+
+  private static class Join<P, C> {
+    final String table;
+    final String keyColumn;
+    final RowProcessor<C> rowProcessor;
+    final BiConsumerWithException<P, C> combiner;
+
+    Join(String table, String keyColumn, RowProcessor<C> rowProcessor, BiConsumerWithException<P, C> combiner) {
+      this.table = table;
+      this.keyColumn = keyColumn;
+      this.rowProcessor = rowProcessor;
+      this.combiner = combiner;
+    }
+
+    Cursor open(ResultSet rs) throws SQLException {
+      return new Cursor(new ResultSetView(rs, table));
+    }
+
+    /**
+     * The state of a join while a single {@link ResultSet} is handled.
+     */
+    class Cursor {
+      private final ResultSetView view;
+      private final int keyColumnIndex;
+      private final Map<Object, C> children = new HashMap<>();
+
+      Cursor(ResultSetView view) throws SQLException {
+        this.view = view;
+        this.keyColumnIndex = view.findColumn(keyColumn);
+      }
+
+      void combine(P parent, Set<Object> parentChildKeys) throws Exception {
+        Object key = view.getObject(keyColumnIndex);
+        if (key == null || !parentChildKeys.add(key)) {
+          return;
+        }
+
+        C child = children.get(key);
+        if (child == null) {
+          child = rowProcessor.handle(view);
+          children.put(key, child);
+        }
+        combiner.accept(parent, child);
+      }
+    }
+  }
+
+  private static class Parent<P> {
+    final P value;
+    final List<Set<Object>> childKeys;
+
+    Parent(P value, int joins) {
+      this.value = value;
+      this.childKeys = new ArrayList<>(joins);
+      for (int i = 0; i < joins; i++) {
+        childKeys.add(new HashSet<>());
+      }
+    }
+  }
+}
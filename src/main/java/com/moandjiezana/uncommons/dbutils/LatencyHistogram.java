@@ -0,0 +1,126 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A fixed-size histogram of durations in nanoseconds, in the style of HdrHistogram.</p>
+ *
+ * <p>Values are counted in log-linear buckets: each power of 2 is split into 16 equal sub-buckets, so any recorded value can be read back
+ * with a relative error of at most 1/16 (6.25%), from 1ns to several centuries, using under 8KB.
+ * Recording a value is a few shifts and an atomic increment, with no allocation and no lock.</p>
+ *
+ * Threadsafe. Reads are not atomic with respect to concurrent writes, so a snapshot may be off by the values being recorded at the same time.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * @param nanos
+   *    the duration to record. Negative values are recorded as 0.
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(indexOf(value));
+    count.increment();
+    sum.add(value);
+
+    if (value > max.get()) {
+      max.accumulateAndGet(value, Math::max);
+    }
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * @return the largest recorded value, exactly, or 0 if there are none
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * @return the exact average of the recorded values, or 0 if there are none
+   */
+  public double getMean() {
+    long n = count.sum();
+
+    return n == 0 ? 0 : (double) sum.sum() / n;
+  }
+
+  /**
+   * @param percentile
+   *    between 0 and 100, eg. 99.9
+   * @return the highest value that falls in the same bucket as the value at the given percentile, or 0 if there are none
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100, but was " + percentile);
+    }
+
+    long total = 0;
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(highestValueAt(i), getMax());
+      }
+    }
+
+    return getMax();
+  }
+
+  @Override
+  public String toString() {
+    return "LatencyHistogram [count=" + getCount() + ", meanMicros=" + TimeUnit.NANOSECONDS.toMicros((long) getMean())
+      + ", p50Micros=" + TimeUnit.NANOSECONDS.toMicros(getValueAtPercentile(50)) + ", p99Micros=" + TimeUnit.NANOSECONDS.toMicros(getValueAtPercentile(99))
+      + ", maxMicros=" + TimeUnit.NANOSECONDS.toMicros(getMax()) + "]";
+  }
+
+  /**
+   * Values below 16 each have their own bucket. Above that, a value's highest set bit selects a range [2^n, 2^(n+1)) and its next 4 bits the sub-bucket within it.
+   */
+  static int indexOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+  }
+
+  static long highestValueAt(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+
+    int shift = index / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+
+    return lowest + (1L << shift) - 1;
+  }
+}
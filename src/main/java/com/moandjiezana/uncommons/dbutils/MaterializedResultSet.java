@@ -0,0 +1,1296 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-only, forward-only {@link ResultSet} whose rows are held in memory. Used to hand the rows of several {@link ResultSet}s to a single {@link ResultSetHandler}.
+ * Updates and streams are not supported.
+ */
+final class MaterializedResultSet implements ResultSet {
+
+  /**
+   * Copies the rows of {@link ResultSet}s that all have the same columns.
+   */
+  static class Builder {
+    private final List<Object[]> rows = new ArrayList<>();
+    private String[] labels = new String[0];
+    private String[] names = new String[0];
+    private int[] types = new int[0];
+
+    /**
+     * Reads the remaining rows of the {@link ResultSet}, but does not close it.
+     */
+    Builder append(ResultSet rs) throws SQLException {
+      if (rows.isEmpty()) {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        labels = new String[columnCount];
+        names = new String[columnCount];
+        types = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+          labels[i] = metaData.getColumnLabel(i + 1);
+          names[i] = metaData.getColumnName(i + 1);
+          types[i] = metaData.getColumnType(i + 1);
+        }
+      }
+
+      while (rs.next()) {
+        Object[] row = new Object[labels.length];
+        for (int i = 0; i < row.length; i++) {
+          row[i] = rs.getObject(i + 1);
+        }
+        rows.add(row);
+      }
+
+      return this;
+    }
+
+    ResultSet build() {
+      return new MaterializedResultSet(labels, names, types, rows);
+    }
+  }
+
+  private final String[] labels;
+  private final List<Object[]> rows;
+  private final ResultSetMetaData metaData;
+  private int index = -1;
+  private boolean wasNull;
+  private boolean closed;
+
+  MaterializedResultSet(String[] labels, String[] names, int[] types, List<Object[]> rows) {
+    this.labels = labels;
+    this.rows = rows;
+    this.metaData = new MetaData(labels, names, types);
+  }
+
+  @Override
+  public boolean next() throws SQLException {
+    checkOpen();
+    index = Math.min(index + 1, rows.size());
+
+    return index < rows.size();
+  }
+
+  @Override
+  public void close() throws SQLException {
+    closed = true;
+  }
+
+  @Override
+  public boolean isClosed() throws SQLException {
+    return closed;
+  }
+
+  @Override
+  public boolean wasNull() throws SQLException {
+    return wasNull;
+  }
+
+  @Override
+  public int findColumn(String columnLabel) throws SQLException {
+    for (int i = 0; i < labels.length; i++) {
+      if (labels[i].equalsIgnoreCase(columnLabel)) {
+        return i + 1;
+      }
+    }
+
+    throw new SQLException("Column not found: " + columnLabel);
+  }
+
+  @Override
+  public ResultSetMetaData getMetaData() throws SQLException {
+    return metaData;
+  }
+
+  @Override
+  public Statement getStatement() throws SQLException {
+    return null;
+  }
+
+  @Override
+  public Object getObject(int columnIndex) throws SQLException {
+    Object value = value(columnIndex);
+    wasNull = value == null;
+
+    return value;
+  }
+
+  @Override
+  public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+    Object value = getObject(columnIndex);
+    if (value == null || type.isInstance(value)) {
+      return type.cast(value);
+    }
+
+    if (type == String.class) {
+      return type.cast(value.toString());
+    } else if (type == Boolean.class) {
+      return type.cast(getBoolean(columnIndex));
+    } else if (type == Long.class) {
+      return type.cast(number(value).longValue());
+    } else if (type == Integer.class) {
+      return type.cast(number(value).intValue());
+    } else if (type == Short.class) {
+      return type.cast(number(value).shortValue());
+    } else if (type == Byte.class) {
+      return type.cast(number(value).byteValue());
+    } else if (type == Double.class) {
+      return type.cast(number(value).doubleValue());
+    } else if (type == Float.class) {
+      return type.cast(number(value).floatValue());
+    } else if (type == BigDecimal.class) {
+      return type.cast(getBigDecimal(columnIndex));
+    }
+
+    throw new SQLException("Cannot read " + value.getClass().getName() + " as " + type.getName());
+  }
+
+  @Override
+  public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+    return getObject(columnIndex);
+  }
+
+  @Override
+  public String getString(int columnIndex) throws SQLException {
+    Object value = getObject(columnIndex);
+
+    return value == null ? null : value.toString();
+  }
+
+  @Override
+  public boolean getBoolean(int columnIndex) throws SQLException {
+    Object value = getObject(columnIndex);
+
+    return value instanceof Boolean ? (Boolean) value : value != null && number(value).intValue() != 0;
+  }
+
+  @Override
+  public byte getByte(int columnIndex) throws SQLException {
+    Number value = number(getObject(columnIndex));
+
+    return value == null ? 0 : value.byteValue();
+  }
+
+  @Override
+  public short getShort(int columnIndex) throws SQLException {
+    Number value = number(getObject(columnIndex));
+
+    return value == null ? 0 : value.shortValue();
+  }
+
+  @Override
+  public int getInt(int columnIndex) throws SQLException {
+    Number value = number(getObject(columnIndex));
+
+    return value == null ? 0 : value.intValue();
+  }
+
+  @Override
+  public long getLong(int columnIndex) throws SQLException {
+    Number value = number(getObject(columnIndex));
+
+    return value == null ? 0 : value.longValue();
+  }
+
+  @Override
+  public float getFloat(int columnIndex) throws SQLException {
+    Number value = number(getObject(columnIndex));
+
+    return value == null ? 0 : value.floatValue();
+  }
+
+  @Override
+  public double getDouble(int columnIndex) throws SQLException {
+    Number value = number(getObject(columnIndex));
+
+    return value == null ? 0 : value.doubleValue();
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+    Object value = getObject(columnIndex);
+    if (value == null || value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+
+    return new BigDecimal(number(value).toString());
+  }
+
+  @Override
+  @Deprecated
+  public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+    BigDecimal value = getBigDecimal(columnIndex);
+
+    return value == null ? null : value.setScale(scale, RoundingMode.HALF_UP);
+  }
+
+  @Override
+  public byte[] getBytes(int columnIndex) throws SQLException {
+    return getObject(columnIndex, byte[].class);
+  }
+
+  @Override
+  public Date getDate(int columnIndex) throws SQLException {
+    return getObject(columnIndex, Date.class);
+  }
+
+  @Override
+  public Time getTime(int columnIndex) throws SQLException {
+    return getObject(columnIndex, Time.class);
+  }
+
+  @Override
+  public Timestamp getTimestamp(int columnIndex) throws SQLException {
+    return getObject(columnIndex, Timestamp.class);
+  }
+
+  @Override
+  public SQLWarning getWarnings() throws SQLException {
+    return null;
+  }
+
+  @Override
+  public void clearWarnings() throws SQLException {}
+
+  @Override
+  public int getRow() throws SQLException {
+    return index >= 0 && index < rows.size() ? index + 1 : 0;
+  }
+
+  @Override
+  public boolean isBeforeFirst() throws SQLException {
+    return index < 0 && !rows.isEmpty();
+  }
+
+  @Override
+  public boolean isAfterLast() throws SQLException {
+    return index >= rows.size() && !rows.isEmpty();
+  }
+
+  @Override
+  public boolean isFirst() throws SQLException {
+    return index == 0 && !rows.isEmpty();
+  }
+
+  @Override
+  public boolean isLast() throws SQLException {
+    return index == rows.size() - 1;
+  }
+
+  @Override
+  public int getType() throws SQLException {
+    return TYPE_FORWARD_ONLY;
+  }
+
+  @Override
+  public int getConcurrency() throws SQLException {
+    return CONCUR_READ_ONLY;
+  }
+
+  @Override
+  public int getHoldability() throws SQLException {
+    return HOLD_CURSORS_OVER_COMMIT;
+  }
+
+  @Override
+  public int getFetchDirection() throws SQLException {
+    return FETCH_FORWARD;
+  }
+
+  @Override
+  public void setFetchDirection(int direction) throws SQLException {}
+
+  @Override
+  public int getFetchSize() throws SQLException {
+    return 0;
+  }
+
+  @Override
+  public void setFetchSize(int rows) throws SQLException {}
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+
+    throw new SQLException("Not a wrapper for " + iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this);
+  }
+
+  @Override
+  public InputStream getAsciiStream(int columnIndex) throws SQLException {
+    throw new SQLFeatureNotSupportedException("getAsciiStream");
+  }
+
+  @Override
+  public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+    throw new SQLFeatureNotSupportedException("getUnicodeStream");
+  }
+
+  @Override
+  public InputStream getBinaryStream(int columnIndex) throws SQLException {
+    throw new SQLFeatureNotSupportedException("getBinaryStream");
+  }
+
+  @Override
+  public String getString(String columnLabel) throws SQLException {
+    return getString(findColumn(columnLabel));
+  }
+
+  @Override
+  public boolean getBoolean(String columnLabel) throws SQLException {
+    return getBoolean(findColumn(columnLabel));
+  }
+
+  @Override
+  public byte getByte(String columnLabel) throws SQLException {
+    return getByte(findColumn(columnLabel));
+  }
+
+  @Override
+  public short getShort(String columnLabel) throws SQLException {
+    return getShort(findColumn(columnLabel));
+  }
+
+  @Override
+  public int getInt(String columnLabel) throws SQLException {
+    return getInt(findColumn(columnLabel));
+  }
+
+  @Override
+  public long getLong(String columnLabel) throws SQLException {
+    return getLong(findColumn(columnLabel));
+  }
+
+  @Override
+  public float getFloat(String columnLabel) throws SQLException {
+    return getFloat(findColumn(columnLabel));
+  }
+
+  @Override
+  public double getDouble(String columnLabel) throws SQLException {
+    return getDouble(findColumn(columnLabel));
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+    return getBigDecimal(findColumn(columnLabel), scale);
+  }
+
+  @Override
+  public byte[] getBytes(String columnLabel) throws SQLException {
+    return getBytes(findColumn(columnLabel));
+  }
+
+  @Override
+  public Date getDate(String columnLabel) throws SQLException {
+    return getDate(findColumn(columnLabel));
+  }
+
+  @Override
+  public Time getTime(String columnLabel) throws SQLException {
+    return getTime(findColumn(columnLabel));
+  }
+
+  @Override
+  public Timestamp getTimestamp(String columnLabel) throws SQLException {
+    return getTimestamp(findColumn(columnLabel));
+  }
+
+  @Override
+  public InputStream getAsciiStream(String columnLabel) throws SQLException {
+    return getAsciiStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+    return getUnicodeStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public InputStream getBinaryStream(String columnLabel) throws SQLException {
+    return getBinaryStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public String getCursorName() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getCursorName");
+  }
+
+  @Override
+  public Object getObject(String columnLabel) throws SQLException {
+    return getObject(findColumn(columnLabel));
+  }
+
+  @Override
+  public Reader getCharacterStream(int columnIndex) throws SQLException {
+    throw new SQLFeatureNotSupportedException("getCharacterStream");
+  }
+
+  @Override
+  public Reader getCharacterStream(String columnLabel) throws SQLException {
+    return getCharacterStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+    return getBigDecimal(findColumn(columnLabel));
+  }
+
+  @Override
+  public void beforeFirst() throws SQLException {
+    throw new SQLFeatureNotSupportedException("beforeFirst");
+  }
+
+  @Override
+  public void afterLast() throws SQLException {
+    throw new SQLFeatureNotSupportedException("afterLast");
+  }
+
+  @Override
+  public boolean first() throws SQLException {
+    throw new SQLFeatureNotSupportedException("first");
+  }
+
+  @Override
+  public boolean last() throws SQLException {
+    throw new SQLFeatureNotSupportedException("last");
+  }
+
+  @Override
+  public boolean absolute(int row) throws SQLException {
+    throw new SQLFeatureNotSupportedException("absolute");
+  }
+
+  @Override
+  public boolean relative(int rows) throws SQLException {
+    throw new SQLFeatureNotSupportedException("relative");
+  }
+
+  @Override
+  public boolean previous() throws SQLException {
+    throw new SQLFeatureNotSupportedException("previous");
+  }
+
+  @Override
+  public boolean rowUpdated() throws SQLException {
+    throw new SQLFeatureNotSupportedException("rowUpdated");
+  }
+
+  @Override
+  public boolean rowInserted() throws SQLException {
+    throw new SQLFeatureNotSupportedException("rowInserted");
+  }
+
+  @Override
+  public boolean rowDeleted() throws SQLException {
+    throw new SQLFeatureNotSupportedException("rowDeleted");
+  }
+
+  @Override
+  public void updateNull(int columnIndex) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateNull");
+  }
+
+  @Override
+  public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateBoolean");
+  }
+
+  @Override
+  public void updateByte(int columnIndex, byte x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateByte");
+  }
+
+  @Override
+  public void updateShort(int columnIndex, short x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateShort");
+  }
+
+  @Override
+  public void updateInt(int columnIndex, int x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateInt");
+  }
+
+  @Override
+  public void updateLong(int columnIndex, long x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateLong");
+  }
+
+  @Override
+  public void updateFloat(int columnIndex, float x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateFloat");
+  }
+
+  @Override
+  public void updateDouble(int columnIndex, double x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateDouble");
+  }
+
+  @Override
+  public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateBigDecimal");
+  }
+
+  @Override
+  public void updateString(int columnIndex, String x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateString");
+  }
+
+  @Override
+  public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateBytes");
+  }
+
+  @Override
+  public void updateDate(int columnIndex, Date x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateDate");
+  }
+
+  @Override
+  public void updateTime(int columnIndex, Time x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateTime");
+  }
+
+  @Override
+  public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateTimestamp");
+  }
+
+  @Override
+  public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateAsciiStream");
+  }
+
+  @Override
+  public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateBinaryStream");
+  }
+
+  @Override
+  public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateCharacterStream");
+  }
+
+  @Override
+  public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateObject");
+  }
+
+  @Override
+  public void updateObject(int columnIndex, Object x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateObject");
+  }
+
+  @Override
+  public void updateNull(String columnLabel) throws SQLException {
+    updateNull(findColumn(columnLabel));
+  }
+
+  @Override
+  public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+    updateBoolean(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateByte(String columnLabel, byte x) throws SQLException {
+    updateByte(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateShort(String columnLabel, short x) throws SQLException {
+    updateShort(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateInt(String columnLabel, int x) throws SQLException {
+    updateInt(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateLong(String columnLabel, long x) throws SQLException {
+    updateLong(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateFloat(String columnLabel, float x) throws SQLException {
+    updateFloat(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateDouble(String columnLabel, double x) throws SQLException {
+    updateDouble(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+    updateBigDecimal(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateString(String columnLabel, String x) throws SQLException {
+    updateString(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+    updateBytes(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateDate(String columnLabel, Date x) throws SQLException {
+    updateDate(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateTime(String columnLabel, Time x) throws SQLException {
+    updateTime(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+    updateTimestamp(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
+    updateAsciiStream(findColumn(columnLabel), x, length);
+  }
+
+  @Override
+  public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
+    updateBinaryStream(findColumn(columnLabel), x, length);
+  }
+
+  @Override
+  public void updateCharacterStream(String columnLabel, Reader reader, int length) throws SQLException {
+    updateCharacterStream(findColumn(columnLabel), reader, length);
+  }
+
+  @Override
+  public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+    updateObject(findColumn(columnLabel), x, scaleOrLength);
+  }
+
+  @Override
+  public void updateObject(String columnLabel, Object x) throws SQLException {
+    updateObject(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void insertRow() throws SQLException {
+    throw new SQLFeatureNotSupportedException("insertRow");
+  }
+
+  @Override
+  public void updateRow() throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateRow");
+  }
+
+  @Override
+  public void deleteRow() throws SQLException {
+    throw new SQLFeatureNotSupportedException("deleteRow");
+  }
+
+  @Override
+  public void refreshRow() throws SQLException {
+    throw new SQLFeatureNotSupportedException("refreshRow");
+  }
+
+  @Override
+  public void cancelRowUpdates() throws SQLException {
+    throw new SQLFeatureNotSupportedException("cancelRowUpdates");
+  }
+
+  @Override
+  public void moveToInsertRow() throws SQLException {
+    throw new SQLFeatureNotSupportedException("moveToInsertRow");
+  }
+
+  @Override
+  public void moveToCurrentRow() throws SQLException {
+    throw new SQLFeatureNotSupportedException("moveToCurrentRow");
+  }
+
+  @Override
+  public Ref getRef(int columnIndex) throws SQLException {
+    return getObject(columnIndex, Ref.class);
+  }
+
+  @Override
+  public Blob getBlob(int columnIndex) throws SQLException {
+    return getObject(columnIndex, Blob.class);
+  }
+
+  @Override
+  public Clob getClob(int columnIndex) throws SQLException {
+    return getObject(columnIndex, Clob.class);
+  }
+
+  @Override
+  public Array getArray(int columnIndex) throws SQLException {
+    return getObject(columnIndex, Array.class);
+  }
+
+  @Override
+  public Object getObject(String columnLabel, Map<String,Class<?>> map) throws SQLException {
+    return getObject(findColumn(columnLabel), map);
+  }
+
+  @Override
+  public Ref getRef(String columnLabel) throws SQLException {
+    return getRef(findColumn(columnLabel));
+  }
+
+  @Override
+  public Blob getBlob(String columnLabel) throws SQLException {
+    return getBlob(findColumn(columnLabel));
+  }
+
+  @Override
+  public Clob getClob(String columnLabel) throws SQLException {
+    return getClob(findColumn(columnLabel));
+  }
+
+  @Override
+  public Array getArray(String columnLabel) throws SQLException {
+    return getArray(findColumn(columnLabel));
+  }
+
+  @Override
+  public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+    return getDate(columnIndex);
+  }
+
+  @Override
+  public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+    return getDate(findColumn(columnLabel), cal);
+  }
+
+  @Override
+  public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+    return getTime(columnIndex);
+  }
+
+  @Override
+  public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+    return getTime(findColumn(columnLabel), cal);
+  }
+
+  @Override
+  public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+    return getTimestamp(columnIndex);
+  }
+
+  @Override
+  public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+    return getTimestamp(findColumn(columnLabel), cal);
+  }
+
+  @Override
+  public URL getURL(int columnIndex) throws SQLException {
+    return getObject(columnIndex, URL.class);
+  }
+
+  @Override
+  public URL getURL(String columnLabel) throws SQLException {
+    return getURL(findColumn(columnLabel));
+  }
+
+  @Override
+  public void updateRef(int columnIndex, Ref x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateRef");
+  }
+
+  @Override
+  public void updateRef(String columnLabel, Ref x) throws SQLException {
+    updateRef(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateBlob(int columnIndex, Blob x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateBlob");
+  }
+
+  @Override
+  public void updateBlob(String columnLabel, Blob x) throws SQLException {
+    updateBlob(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateClob(int columnIndex, Clob x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateClob");
+  }
+
+  @Override
+  public void updateClob(String columnLabel, Clob x) throws SQLException {
+    updateClob(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateArray(int columnIndex, Array x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateArray");
+  }
+
+  @Override
+  public void updateArray(String columnLabel, Array x) throws SQLException {
+    updateArray(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public RowId getRowId(int columnIndex) throws SQLException {
+    return getObject(columnIndex, RowId.class);
+  }
+
+  @Override
+  public RowId getRowId(String columnLabel) throws SQLException {
+    return getRowId(findColumn(columnLabel));
+  }
+
+  @Override
+  public void updateRowId(int columnIndex, RowId x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateRowId");
+  }
+
+  @Override
+  public void updateRowId(String columnLabel, RowId x) throws SQLException {
+    updateRowId(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateNString(int columnIndex, String nString) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateNString");
+  }
+
+  @Override
+  public void updateNString(String columnLabel, String nString) throws SQLException {
+    updateNString(findColumn(columnLabel), nString);
+  }
+
+  @Override
+  public void updateNClob(int columnIndex, NClob nClob) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateNClob");
+  }
+
+  @Override
+  public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
+    updateNClob(findColumn(columnLabel), nClob);
+  }
+
+  @Override
+  public NClob getNClob(int columnIndex) throws SQLException {
+    return getObject(columnIndex, NClob.class);
+  }
+
+  @Override
+  public NClob getNClob(String columnLabel) throws SQLException {
+    return getNClob(findColumn(columnLabel));
+  }
+
+  @Override
+  public SQLXML getSQLXML(int columnIndex) throws SQLException {
+    return getObject(columnIndex, SQLXML.class);
+  }
+
+  @Override
+  public SQLXML getSQLXML(String columnLabel) throws SQLException {
+    return getSQLXML(findColumn(columnLabel));
+  }
+
+  @Override
+  public void updateSQLXML(int columnIndex, SQLXML xmlObject) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateSQLXML");
+  }
+
+  @Override
+  public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
+    updateSQLXML(findColumn(columnLabel), xmlObject);
+  }
+
+  @Override
+  public String getNString(int columnIndex) throws SQLException {
+    return getString(columnIndex);
+  }
+
+  @Override
+  public String getNString(String columnLabel) throws SQLException {
+    return getNString(findColumn(columnLabel));
+  }
+
+  @Override
+  public Reader getNCharacterStream(int columnIndex) throws SQLException {
+    throw new SQLFeatureNotSupportedException("getNCharacterStream");
+  }
+
+  @Override
+  public Reader getNCharacterStream(String columnLabel) throws SQLException {
+    return getNCharacterStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateNCharacterStream");
+  }
+
+  @Override
+  public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+    updateNCharacterStream(findColumn(columnLabel), reader, length);
+  }
+
+  @Override
+  public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateAsciiStream");
+  }
+
+  @Override
+  public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateBinaryStream");
+  }
+
+  @Override
+  public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateCharacterStream");
+  }
+
+  @Override
+  public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+    updateAsciiStream(findColumn(columnLabel), x, length);
+  }
+
+  @Override
+  public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+    updateBinaryStream(findColumn(columnLabel), x, length);
+  }
+
+  @Override
+  public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+    updateCharacterStream(findColumn(columnLabel), reader, length);
+  }
+
+  @Override
+  public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateBlob");
+  }
+
+  @Override
+  public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
+    updateBlob(findColumn(columnLabel), inputStream, length);
+  }
+
+  @Override
+  public void updateClob(int columnIndex, Reader reader, long length) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateClob");
+  }
+
+  @Override
+  public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
+    updateClob(findColumn(columnLabel), reader, length);
+  }
+
+  @Override
+  public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateNClob");
+  }
+
+  @Override
+  public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
+    updateNClob(findColumn(columnLabel), reader, length);
+  }
+
+  @Override
+  public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateNCharacterStream");
+  }
+
+  @Override
+  public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
+    updateNCharacterStream(findColumn(columnLabel), reader);
+  }
+
+  @Override
+  public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateAsciiStream");
+  }
+
+  @Override
+  public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateBinaryStream");
+  }
+
+  @Override
+  public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateCharacterStream");
+  }
+
+  @Override
+  public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+    updateAsciiStream(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+    updateBinaryStream(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
+    updateCharacterStream(findColumn(columnLabel), reader);
+  }
+
+  @Override
+  public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateBlob");
+  }
+
+  @Override
+  public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
+    updateBlob(findColumn(columnLabel), inputStream);
+  }
+
+  @Override
+  public void updateClob(int columnIndex, Reader reader) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateClob");
+  }
+
+  @Override
+  public void updateClob(String columnLabel, Reader reader) throws SQLException {
+    updateClob(findColumn(columnLabel), reader);
+  }
+
+  @Override
+  public void updateNClob(int columnIndex, Reader reader) throws SQLException {
+    throw new SQLFeatureNotSupportedException("updateNClob");
+  }
+
+  @Override
+  public void updateNClob(String columnLabel, Reader reader) throws SQLException {
+    updateNClob(findColumn(columnLabel), reader);
+  }
+
+  @Override
+  public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+    return getObject(findColumn(columnLabel), type);
+  }
+
+  @Override
+  public String toString() {
+    return "MaterializedResultSet [rows=" + rows.size() + "]";
+  }
+
+  private Object value(int columnIndex) throws SQLException {
+    checkOpen();
+    if (index < 0 || index >= rows.size()) {
+      throw new SQLException("No current row");
+    }
+    if (columnIndex < 1 || columnIndex > labels.length) {
+      throw new SQLException("Invalid column index " + columnIndex);
+    }
+
+    return rows.get(index)[columnIndex - 1];
+  }
+
+  private void checkOpen() throws SQLException {
+    if (closed) {
+      throw new SQLException("ResultSet is closed");
+    }
+  }
+
+  private static Number number(Object value) throws SQLException {
+    if (value == null || value instanceof Number) {
+      return (Number) value;
+    }
+
+    if (value instanceof Boolean) {
+      return (Boolean) value ? 1 : 0;
+    }
+
+    try {
+      return new BigDecimal(value.toString().trim());
+    } catch (NumberFormatException e) {
+      throw new SQLException("Cannot read " + value.getClass().getName() + " as a number", e);
+    }
+  }
+
+  /**
+   * Column names and types are copied from the first {@link ResultSet}. Tables, schemas and catalogs are unknown, as the rows may come from several statements.
+   */
+  private static class MetaData implements ResultSetMetaData {
+    private final String[] labels;
+    private final String[] names;
+    private final int[] types;
+
+    MetaData(String[] labels, String[] names, int[] types) {
+      this.labels = labels;
+      this.names = names;
+      this.types = types;
+    }
+
+    @Override
+    public int getColumnCount() throws SQLException {
+      return labels.length;
+    }
+
+    @Override
+    public String getColumnLabel(int column) throws SQLException {
+      return labels[check(column)];
+    }
+
+    @Override
+    public String getColumnName(int column) throws SQLException {
+      return names[check(column)];
+    }
+
+    @Override
+    public int getColumnType(int column) throws SQLException {
+      return types[check(column)];
+    }
+
+    @Override
+    public String getTableName(int column) throws SQLException {
+      check(column);
+      return "";
+    }
+
+    @Override
+    public String getSchemaName(int column) throws SQLException {
+      check(column);
+      return "";
+    }
+
+    @Override
+    public String getCatalogName(int column) throws SQLException {
+      check(column);
+      return "";
+    }
+
+    @Override
+    public boolean isAutoIncrement(int column) throws SQLException {
+      throw new SQLFeatureNotSupportedException("isAutoIncrement");
+    }
+
+    @Override
+    public boolean isCaseSensitive(int column) throws SQLException {
+      throw new SQLFeatureNotSupportedException("isCaseSensitive");
+    }
+
+    @Override
+    public boolean isSearchable(int column) throws SQLException {
+      throw new SQLFeatureNotSupportedException("isSearchable");
+    }
+
+    @Override
+    public boolean isCurrency(int column) throws SQLException {
+      throw new SQLFeatureNotSupportedException("isCurrency");
+    }
+
+    @Override
+    public int isNullable(int column) throws SQLException {
+      check(column);
+      return columnNullableUnknown;
+    }
+
+    @Override
+    public boolean isSigned(int column) throws SQLException {
+      throw new SQLFeatureNotSupportedException("isSigned");
+    }
+
+    @Override
+    public int getColumnDisplaySize(int column) throws SQLException {
+      throw new SQLFeatureNotSupportedException("getColumnDisplaySize");
+    }
+
+    @Override
+    public int getPrecision(int column) throws SQLException {
+      throw new SQLFeatureNotSupportedException("getPrecision");
+    }
+
+    @Override
+    public int getScale(int column) throws SQLException {
+      throw new SQLFeatureNotSupportedException("getScale");
+    }
+
+    @Override
+    public String getColumnTypeName(int column) throws SQLException {
+      throw new SQLFeatureNotSupportedException("getColumnTypeName");
+    }
+
+    @Override
+    public boolean isReadOnly(int column) throws SQLException {
+      check(column);
+      return true;
+    }
+
+    @Override
+    public boolean isWritable(int column) throws SQLException {
+      check(column);
+      return false;
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int column) throws SQLException {
+      check(column);
+      return false;
+    }
+
+    @Override
+    public String getColumnClassName(int column) throws SQLException {
+      throw new SQLFeatureNotSupportedException("getColumnClassName");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+      if (iface.isInstance(this)) {
+        return iface.cast(this);
+      }
+
+      throw new SQLException("Not a wrapper for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+      return iface.isInstance(this);
+    }
+
+    @Override
+    public String toString() {
+      return "MaterializedResultSetMetaData";
+    }
+
+    private int check(int column) throws SQLException {
+      if (column < 1 || column > labels.length) {
+        throw new SQLException("Invalid column index " + column);
+      }
+
+      return column - 1;
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.util.List;
+
+/**
+ * Rewrites a single-row <code>INSERT ... VALUES (?, ?)</code> into <code>INSERT ... VALUES (?, ?), (?, ?), ...</code>. Immutable.
+ */
+final class MultiRowInsert {
+
+  /**
+   * @throws IllegalArgumentException if the SQL does not contain exactly one VALUES group, or if it has parameters outside of it, such as in <code>ON CONFLICT ... DO UPDATE SET name = ?</code>
+   */
+  static MultiRowInsert parse(String sql) {
+    int values = indexOfValues(sql);
+    if (values < 0) {
+      throw new IllegalArgumentException("Multi-row VALUES requires an INSERT ... VALUES (...) statement: " + sql);
+    }
+
+    int open = values + "VALUES".length();
+    while (open < sql.length() && Character.isWhitespace(sql.charAt(open))) {
+      open++;
+    }
+    if (open == sql.length() || sql.charAt(open) != '(') {
+      throw new IllegalArgumentException("Multi-row VALUES requires an INSERT ... VALUES (...) statement: " + sql);
+    }
+
+    int depth = 0;
+    int parameters = 0;
+    int close = -1;
+    for (int i = open; i < sql.length() && close < 0; i++) {
+      char c = sql.charAt(i);
+      if (c == '\'' || c == '"') {
+        i = skipQuoted(sql, i);
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')' && --depth == 0) {
+        close = i;
+      } else if (c == '?') {
+        parameters++;
+      }
+    }
+    if (close < 0) {
+      throw new IllegalArgumentException("Unbalanced parentheses in VALUES: " + sql);
+    }
+
+    String suffix = sql.substring(close + 1);
+    if (suffix.trim().startsWith(",")) {
+      throw new IllegalArgumentException("Multi-row VALUES requires an INSERT of a single row: " + sql);
+    }
+    if (countParameters(sql, 0, open) > 0 || countParameters(sql, close + 1, sql.length()) > 0) {
+      throw new IllegalArgumentException("Multi-row VALUES only supports parameters inside the VALUES group, as the others cannot be repeated for each row: " + sql);
+    }
+
+    return new MultiRowInsert(sql.substring(0, open), sql.substring(open, close + 1), suffix, parameters);
+  }
+
+  private final String prefix;
+  private final String row;
+  private final String suffix;
+  private final int parametersPerRow;
+
+  int getParametersPerRow() {
+    return parametersPerRow;
+  }
+
+  /**
+   * @return how many rows a single statement can insert without exceeding either limit
+   */
+  int rowsPerStatement(BatchOptions batchOptions) {
+    int rows = batchOptions.getRows();
+    if (batchOptions.getMaxParameters() > 0 && parametersPerRow > 0) {
+      rows = Math.min(rows, Math.max(1, batchOptions.getMaxParameters() / parametersPerRow));
+    }
+
+    return rows;
+  }
+
+  String sql(int rows) {
+    StringBuilder sql = new StringBuilder(prefix.length() + rows * (row.length() + 2) + suffix.length()).append(prefix);
+    for (int i = 0; i < rows; i++) {
+      if (i > 0) {
+        sql.append(", ");
+      }
+      sql.append(row);
+    }
+
+    return sql.append(suffix).toString();
+  }
+
+  void checkParameters(List<?> params) {
+    if (params.size() != parametersPerRow) {
+      throw new IllegalArgumentException("Expected " + parametersPerRow + " values per row, but got " + params.size() + ": " + params);
+    }
+  }
+
+  private static int indexOfValues(String sql) {
+    int depth = 0;
+    for (int i = 0; i < sql.length(); i++) {
+      char c = sql.charAt(i);
+      if (c == '\'' || c == '"') {
+        i = skipQuoted(sql, i);
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+      } else if (depth == 0 && sql.regionMatches(true, i, "VALUES", 0, 6) && isBoundary(sql, i - 1) && isBoundary(sql, i + 6)) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  private static int countParameters(String sql, int start, int end) {
+    int parameters = 0;
+    for (int i = start; i < end; i++) {
+      char c = sql.charAt(i);
+      if (c == '\'' || c == '"') {
+        i = skipQuoted(sql, i);
+      } else if (c == '?') {
+        parameters++;
+      }
+    }
+
+    return parameters;
+  }
+
+  private static boolean isBoundary(String sql, int i) {
+    return i < 0 || i >= sql.length() || !Character.isJavaIdentifierPart(sql.charAt(i));
+  }
+
+  private static int skipQuoted(String sql, int start) {
+    char quote = sql.charAt(start);
+    int i = start + 1;
+    while (i < sql.length() && sql.charAt(i) != quote) {
+      i++;
+    }
+
+    return i;
+  }
+
+  private MultiRowInsert(String prefix, String row, String suffix, int parametersPerRow) {
+    this.prefix = prefix;
+    this.row = row;
+    this.suffix = suffix;
+    this.parametersPerRow = parametersPerRow;
+  }
+}
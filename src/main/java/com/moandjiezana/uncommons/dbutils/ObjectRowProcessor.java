@@ -7,14 +7,22 @@ import java.beans.ConstructorProperties;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -93,42 +101,102 @@ public class ObjectRowProcessor<T> implements RowProcessor<T> {
     return (rs, i, columnName) -> fields.getOrDefault(columnName.toLowerCase(), Optional.empty());
   }
   
+  /**
+   * @param beanClass
+   *    the class to be instantiated
+   * @param <U>
+   *    the type of the created instances
+   * @return a creator that uses {@link MethodHandle}s
+   * @see #beanInstanceCreator(Class, Access)
+   */
   public static final <U> FunctionWithException<ResultSet, U> beanInstanceCreator(Class<U> beanClass) {
-    return (rs) -> {
-      for (Constructor<?> c : beanClass.getConstructors()) {
-        if (c.isAnnotationPresent(ConstructorProperties.class)) {
-          String[] constructorProperties = c.getAnnotation(ConstructorProperties.class).value();
-          Class<?>[] constructorArgumentTypes = c.getParameterTypes();
-          Object[] constructorArguments = new Object[constructorProperties.length];
-          
-          for (int i = 0; i < constructorProperties.length; i++) {
-            String constructorProperty = constructorProperties[i];
-            constructorArguments[i] = rs.getObject(constructorProperty);
-            Class<?> constructorArgumentType = constructorArgumentTypes[i];
-            if (constructorArgumentType == boolean.class) {
-              constructorArguments[i] = rs.getBoolean(constructorProperty);
-            } else if (constructorArgumentType == int.class) {
-              constructorArguments[i] = rs.getInt(constructorProperty);
-            } else {
-              constructorArguments[i] = Converters.INSTANCE.convert(constructorArgumentType, rs.getObject(constructorProperty));
-            }
-          }
-          
-          return beanClass.cast(c.newInstance(constructorArguments));
-        }
+    return beanInstanceCreator(beanClass, Access.METHOD_HANDLES);
+  }
+  
+  /**
+   * @param beanClass
+   *    the class to be instantiated
+   * @param access
+   *    how the constructor is invoked
+   * @param <U>
+   *    the type of the created instances
+   * @return a creator that uses the first public constructor annotated with {@link ConstructorProperties} or, if there is none, the public no-args constructor
+   */
+  public static final <U> FunctionWithException<ResultSet, U> beanInstanceCreator(Class<U> beanClass, Access access) {
+    return beanInstanceCreator(beanClass, access, Converters.INSTANCE);
+  }
+  
+  /**
+   * @param beanClass
+   *    the class to be instantiated
+   * @param access
+   *    how the constructor is invoked
+   * @param converters
+   *    converts columns to constructor arguments
+   * @param <U>
+   *    the type of the created instances
+   * @return a creator that uses the first public constructor annotated with {@link ConstructorProperties} or, if there is none, the public no-args constructor
+   */
+  public static final <U> FunctionWithException<ResultSet, U> beanInstanceCreator(Class<U> beanClass, Access access, Converters converters) {
+    Optional<Constructor<?>> propertiesConstructor = Arrays.stream(beanClass.getConstructors()).filter(c -> c.isAnnotationPresent(ConstructorProperties.class)).findFirst();
+    
+    if (!propertiesConstructor.isPresent()) {
+      try {
+        FunctionWithException<Object[], Object> constructor = constructor(beanClass.getConstructor(), access);
+        
+        return rs -> beanClass.cast(constructor.apply(NO_ARGUMENTS));
+      } catch (NoSuchMethodException e) {
+        return rs -> { throw e; };
       }
-      
-      return beanClass.getConstructor().newInstance();
-    };
+    }
+    
+    return new PropertiesConstructorCreator<>(beanClass, propertiesConstructor.get(), access, converters);
   }
   
+  /**
+   * @param objectClass
+   *    the class to be instantiated
+   * @param <U>
+   *    the type of the created instances
+   * @return a creator that uses {@link MethodHandle}s
+   * @see #noArgsCreator(Class, Access)
+   */
   public static final <U> FunctionWithException<ResultSet, U> noArgsCreator(Class<U> objectClass) {
-    return (rs) -> {
-      Constructor<U> constructor = objectClass.getDeclaredConstructor();
-      constructor.setAccessible(true);
+    return noArgsCreator(objectClass, Access.METHOD_HANDLES);
+  }
+  
+  /**
+   * @param objectClass
+   *    the class to be instantiated
+   * @param access
+   *    how the constructor is invoked
+   * @param <U>
+   *    the type of the created instances
+   * @return a creator that uses the no-args constructor, whatever its visibility
+   */
+  public static final <U> FunctionWithException<ResultSet, U> noArgsCreator(Class<U> objectClass, Access access) {
+    try {
+      FunctionWithException<Object[], Object> constructor = constructor(objectClass.getDeclaredConstructor(), access);
       
-      return constructor.newInstance();
-    };
+      return rs -> objectClass.cast(constructor.apply(NO_ARGUMENTS));
+    } catch (NoSuchMethodException e) {
+      return rs -> { throw e; };
+    }
+  }
+  
+  /**
+   * Determines how fields, setters and constructors are invoked.
+   */
+  public static enum Access {
+    /**
+     * {@link MethodHandle}s, created once per field, setter or constructor. The default.
+     */
+    METHOD_HANDLES,
+    
+    /**
+     * {@link Field#set(Object, Object)}, {@link Method#invoke(Object, Object...)} and {@link Constructor#newInstance(Object...)}.
+     */
+    REFLECTION;
   }
   
   @FunctionalInterface
@@ -136,55 +204,417 @@ public class ObjectRowProcessor<T> implements RowProcessor<T> {
     public R apply(ResultSet rs, int columnIndex, T instance) throws Exception;
   }
   
+  private static final Object[] NO_ARGUMENTS = new Object[0];
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  
   private final FunctionWithException<ResultSet, T> instanceCreator;
   private final MetaDataMapper<T, Optional<AccessibleObject>> metaDataMapper;
-  private final Converters converters = Converters.INSTANCE;
+  private final Access access;
+  private final Converters converters;
+  private volatile MappingPlan plan;
   
+  /**
+   * The metaDataMapper is only called for the first row of each {@link ResultSet}. The resulting column to accessor mapping is re-used for
+   * the following rows and for subsequent {@link ResultSet}s with the same column labels.
+   * 
+   * @param instanceCreator
+   *    creates a new instance for each row
+   * @param metaDataMapper
+   *    finds the field or method a column is mapped to
+   */
   public ObjectRowProcessor(FunctionWithException<ResultSet, T> instanceCreator, MetaDataMapper<T, Optional<AccessibleObject>> metaDataMapper) {
+    this(instanceCreator, metaDataMapper, Access.METHOD_HANDLES);
+  }
+  
+  /**
+   * @param instanceCreator
+   *    creates a new instance for each row
+   * @param metaDataMapper
+   *    finds the field or method a column is mapped to
+   * @param access
+   *    how fields and setters are invoked
+   */
+  public ObjectRowProcessor(FunctionWithException<ResultSet, T> instanceCreator, MetaDataMapper<T, Optional<AccessibleObject>> metaDataMapper, Access access) {
+    this(instanceCreator, metaDataMapper, access, Converters.INSTANCE);
+  }
+  
+  /**
+   * @param instanceCreator
+   *    creates a new instance for each row
+   * @param metaDataMapper
+   *    finds the field or method a column is mapped to
+   * @param access
+   *    how fields and setters are invoked
+   * @param converters
+   *    converts column values. Primitives and their wrappers are read directly, unless a {@link Converter} is registered for them.
+   */
+  public ObjectRowProcessor(FunctionWithException<ResultSet, T> instanceCreator, MetaDataMapper<T, Optional<AccessibleObject>> metaDataMapper, Access access, Converters converters) {
     this.instanceCreator = instanceCreator;
     this.metaDataMapper = metaDataMapper;
+    this.access = access;
+    this.converters = converters;
   }
 
   @Override
   public T handle(ResultSet rs) throws Exception {
     T instance = instanceCreator.apply(rs);
-    for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+    MappingPlan currentPlan = plan(rs, instance);
+    
+    int[] columnIndexes = currentPlan.columnIndexes;
+    Accessor[] accessors = currentPlan.accessors;
+    ColumnType[] readTypes = currentPlan.readTypes;
+    Converters converters = currentPlan.converters;
+    for (int i = 0; i < columnIndexes.length; i++) {
+      setAccessor(instance, accessors[i], readTypes[i], rs, columnIndexes[i], converters);
+    }
+    
+    return instance;
+  }
+  
+  private MappingPlan plan(ResultSet rs, T instance) throws Exception {
+    MappingPlan currentPlan = plan;
+    if (currentPlan != null && currentPlan.isFor(rs)) {
+      return currentPlan;
+    }
+    
+    String[] columnLabels = columnLabels(rs);
+    if (currentPlan != null && Arrays.equals(currentPlan.columnLabels, columnLabels)) {
+      currentPlan = new MappingPlan(rs, columnLabels, currentPlan.columnIndexes, currentPlan.accessors, ConvertersScope.resolve(converters));
+    } else {
+      currentPlan = createPlan(rs, columnLabels, instance);
+    }
+    plan = currentPlan;
+    
+    return currentPlan;
+  }
+
+  private MappingPlan createPlan(ResultSet rs, String[] columnLabels, T instance) throws Exception {
+    List<Integer> columnIndexes = new ArrayList<>();
+    List<Accessor> accessors = new ArrayList<>();
+    for (int i = 1; i <= columnLabels.length; i++) {
       Optional<AccessibleObject> optional = metaDataMapper.apply(rs, i, instance);
       if (!optional.isPresent()) {
         continue;
       }
       
-      Accessor field = new Accessor(optional.get());
-      setAccessor(instance, field, rs, i, converters);
-    };
+      columnIndexes.add(i);
+      accessors.add(Accessor.create(optional.get(), access));
+    }
     
-    return instance;
+    return new MappingPlan(rs, columnLabels, columnIndexes.stream().mapToInt(Integer::intValue).toArray(), accessors.toArray(new Accessor[accessors.size()]), ConvertersScope.resolve(converters));
+  }
+  
+  private static String[] columnLabels(ResultSet rs) throws SQLException {
+    ResultSetMetaData metaData = rs.getMetaData();
+    String[] columnLabels = new String[metaData.getColumnCount()];
+    for (int i = 0; i < columnLabels.length; i++) {
+      columnLabels[i] = metaData.getColumnLabel(i + 1);
+    }
+    
+    return columnLabels;
   }
 
-  private static void setAccessor(Object instance, Accessor accessor, ResultSet rs, int i, Converters converters) throws SQLException {
-    if (accessor.getType() == boolean.class) {
-      accessor.set(instance, rs.getBoolean(i));
-    } else if (accessor.getType() == int.class) {
-      accessor.set(instance, rs.getInt(i));
-    } else {
-      accessor.set(instance, converters.convert(accessor.getType(), rs.getObject(i)));
+  /**
+   * @return the type to read a column as: {@link ColumnType#OBJECT} if it is to be converted, as is the case when a {@link Converter} is registered for type
+   */
+  private static ColumnType readType(ColumnType columnType, Class<?> type, Converters converters) {
+    return columnType != ColumnType.OBJECT && DefaultConverters.hasConverter(converters, type) ? ColumnType.OBJECT : columnType;
+  }
+  
+  private static void setAccessor(Object instance, Accessor accessor, ColumnType readType, ResultSet rs, int i, Converters converters) throws Exception {
+    switch (readType) {
+    case BOOLEAN:
+      accessor.setBoolean(instance, rs.getBoolean(i));
+      break;
+    case BYTE:
+      accessor.setByte(instance, rs.getByte(i));
+      break;
+    case SHORT:
+      accessor.setShort(instance, rs.getShort(i));
+      break;
+    case INT:
+      accessor.setInt(instance, rs.getInt(i));
+      break;
+    case LONG:
+      accessor.setLong(instance, rs.getLong(i));
+      break;
+    case FLOAT:
+      accessor.setFloat(instance, rs.getFloat(i));
+      break;
+    case DOUBLE:
+      accessor.setDouble(instance, rs.getDouble(i));
+      break;
+    default:
+      accessor.set(instance, read(rs, i, readType, accessor.type, converters));
+    }
+  }
+  
+  /**
+   * Reads primitive and wrapper types with the matching {@link ResultSet} getter and converts anything else. <code>NULL</code> is read as <code>null</code>
+   * for wrappers and as the JDBC default for primitives.
+   * 
+   * @param readType
+   *    as returned by {@link #readType(ColumnType, Class, Converters)}
+   */
+  private static Object read(ResultSet rs, int i, ColumnType readType, Class<?> type, Converters converters) throws SQLException {
+    Object value;
+    switch (readType) {
+    case BOOLEAN:
+    case BOOLEAN_WRAPPER:
+      value = rs.getBoolean(i);
+      break;
+    case BYTE:
+    case BYTE_WRAPPER:
+      value = rs.getByte(i);
+      break;
+    case SHORT:
+    case SHORT_WRAPPER:
+      value = rs.getShort(i);
+      break;
+    case INT:
+    case INT_WRAPPER:
+      value = rs.getInt(i);
+      break;
+    case LONG:
+    case LONG_WRAPPER:
+      value = rs.getLong(i);
+      break;
+    case FLOAT:
+    case FLOAT_WRAPPER:
+      value = rs.getFloat(i);
+      break;
+    case DOUBLE:
+    case DOUBLE_WRAPPER:
+      value = rs.getDouble(i);
+      break;
+    default:
+      return converters.convert(type, rs.getObject(i));
+    }
+    
+    return readType.wrapper && rs.wasNull() ? null : value;
+  }
+  
+  private static FunctionWithException<Object[], Object> constructor(Constructor<?> constructor, Access access) {
+    constructor.setAccessible(true);
+    
+    if (access == Access.REFLECTION) {
+      return arguments -> {
+        try {
+          return constructor.newInstance(arguments);
+        } catch (InvocationTargetException e) {
+          throw unchecked(e.getCause());
+        }
+      };
+    }
+    
+    try {
+      MethodHandle handle = LOOKUP.unreflectConstructor(constructor)
+        .asSpreader(Object[].class, constructor.getParameterCount())
+        .asType(MethodType.methodType(Object.class, Object[].class));
+      
+      return arguments -> {
+        try {
+          return (Object) handle.invokeExact(arguments);
+        } catch (Throwable e) {
+          throw unchecked(e);
+        }
+      };
+    } catch (IllegalAccessException e) {
+      throw new RuntimeException(e);
+    }
+  }
+  
+  private static Exception unchecked(Throwable t) {
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+    
+    return t instanceof Exception ? (Exception) t : new RuntimeException(t);
+  }
+  
+  /**
+   * The columns of a {@link ResultSet} that are mapped to an {@link Accessor}, and how each of them is read. Immutable, so it can be shared by concurrent queries.
+   * 
+   * The {@link Converters} are resolved once per {@link ResultSet}, so rows only read and write values.
+   */
+  private static class MappingPlan {
+    final WeakReference<ResultSet> resultSet;
+    final String[] columnLabels;
+    final int[] columnIndexes;
+    final Accessor[] accessors;
+    final ColumnType[] readTypes;
+    final Converters converters;
+    
+    MappingPlan(ResultSet resultSet, String[] columnLabels, int[] columnIndexes, Accessor[] accessors, Converters converters) {
+      this.resultSet = new WeakReference<>(resultSet);
+      this.columnLabels = columnLabels;
+      this.columnIndexes = columnIndexes;
+      this.accessors = accessors;
+      this.converters = converters;
+      this.readTypes = new ColumnType[accessors.length];
+      for (int i = 0; i < accessors.length; i++) {
+        readTypes[i] = readType(accessors[i].columnType, accessors[i].type, converters);
+      }
+    }
+    
+    boolean isFor(ResultSet rs) {
+      return resultSet.get() == rs;
+    }
+  }
+  
+  /**
+   * Instantiates a class via its {@link ConstructorProperties} constructor. The column index of each constructor property is resolved once per {@link ResultSet}.
+   */
+  private static class PropertiesConstructorCreator<U> implements FunctionWithException<ResultSet, U> {
+    private final Class<U> beanClass;
+    private final String[] constructorProperties;
+    private final Class<?>[] constructorArgumentTypes;
+    private final ColumnType[] constructorColumnTypes;
+    private final FunctionWithException<Object[], Object> constructor;
+    private final Converters converters;
+    private volatile ColumnIndexes columnIndexes;
+    
+    PropertiesConstructorCreator(Class<U> beanClass, Constructor<?> constructor, Access access, Converters converters) {
+      this.converters = converters;
+      this.beanClass = beanClass;
+      this.constructorProperties = constructor.getAnnotation(ConstructorProperties.class).value();
+      this.constructorArgumentTypes = constructor.getParameterTypes();
+      this.constructorColumnTypes = Arrays.stream(constructorArgumentTypes).map(ColumnType::of).toArray(ColumnType[]::new);
+      this.constructor = constructor(constructor, access);
+    }
+
+    @Override
+    public U apply(ResultSet rs) throws Exception {
+      ColumnIndexes current = columnIndexes(rs);
+      int[] indexes = current.indexes;
+      ColumnType[] readTypes = current.readTypes;
+      Object[] constructorArguments = new Object[indexes.length];
+      
+      for (int i = 0; i < indexes.length; i++) {
+        constructorArguments[i] = read(rs, indexes[i], readTypes[i], constructorArgumentTypes[i], current.converters);
+      }
+      
+      return beanClass.cast(constructor.apply(constructorArguments));
     }
+    
+    private ColumnIndexes columnIndexes(ResultSet rs) throws SQLException {
+      ColumnIndexes current = columnIndexes;
+      if (current != null && current.resultSet.get() == rs) {
+        return current;
+      }
+      
+      String[] columnLabels = columnLabels(rs);
+      int[] indexes = new int[constructorProperties.length];
+      for (int i = 0; i < constructorProperties.length; i++) {
+        for (int j = 0; j < columnLabels.length && indexes[i] == 0; j++) {
+          if (columnLabels[j].equalsIgnoreCase(constructorProperties[i])) {
+            indexes[i] = j + 1;
+          }
+        }
+        
+        if (indexes[i] == 0) {
+          throw new SQLException("Could not find column " + constructorProperties[i] + " for " + beanClass.getName());
+        }
+      }
+      
+      Converters resolvedConverters = ConvertersScope.resolve(converters);
+      ColumnType[] readTypes = new ColumnType[indexes.length];
+      for (int i = 0; i < readTypes.length; i++) {
+        readTypes[i] = readType(constructorColumnTypes[i], constructorArgumentTypes[i], resolvedConverters);
+      }
+      current = new ColumnIndexes(rs, indexes, readTypes, resolvedConverters);
+      columnIndexes = current;
+      
+      return current;
+    }
+    
+    private static class ColumnIndexes {
+      final WeakReference<ResultSet> resultSet;
+      final int[] indexes;
+      final ColumnType[] readTypes;
+      final Converters converters;
+      
+      ColumnIndexes(ResultSet resultSet, int[] indexes, ColumnType[] readTypes, Converters converters) {
+        this.resultSet = new WeakReference<>(resultSet);
+        this.indexes = indexes;
+        this.readTypes = readTypes;
+        this.converters = converters;
+      }
+    }
+  }
+  
+  private static enum ColumnType {
+    BOOLEAN(boolean.class), BYTE(byte.class), SHORT(short.class), INT(int.class), LONG(long.class), FLOAT(float.class), DOUBLE(double.class),
+    BOOLEAN_WRAPPER(Boolean.class), BYTE_WRAPPER(Byte.class), SHORT_WRAPPER(Short.class), INT_WRAPPER(Integer.class), LONG_WRAPPER(Long.class),
+    FLOAT_WRAPPER(Float.class), DOUBLE_WRAPPER(Double.class), OBJECT(Object.class);
+    
+    static ColumnType of(Class<?> type) {
+      for (ColumnType columnType : values()) {
+        if (columnType.type == type) {
+          return columnType;
+        }
+      }
+      
+      return OBJECT;
+    }
+    
+    final Class<?> type;
+    final boolean wrapper;
+    
+    private ColumnType(Class<?> type) {
+      this.type = type;
+      this.wrapper = !type.isPrimitive() && type != Object.class;
+    }
+  }
+  
+  private static abstract class Accessor {
+    
+    static Accessor create(AccessibleObject accessibleObject, Access access) {
+      accessibleObject.setAccessible(true);
+      
+      if (access == Access.REFLECTION) {
+        return new ReflectiveAccessor(accessibleObject);
+      }
+      
+      return new MethodHandleAccessor(accessibleObject);
+    }
+    
+    final Class<?> type;
+    final ColumnType columnType;
+    
+    Accessor(AccessibleObject accessibleObject) {
+      this.type = accessibleObject instanceof Field ? ((Field) accessibleObject).getType() : ((Method) accessibleObject).getParameterTypes()[0];
+      this.columnType = ColumnType.of(type);
+    }
+    
+    abstract void set(Object instance, Object value) throws Exception;
+    
+    abstract void setBoolean(Object instance, boolean value) throws Exception;
+    
+    abstract void setByte(Object instance, byte value) throws Exception;
+    
+    abstract void setShort(Object instance, short value) throws Exception;
+    
+    abstract void setInt(Object instance, int value) throws Exception;
+    
+    abstract void setLong(Object instance, long value) throws Exception;
+    
+    abstract void setFloat(Object instance, float value) throws Exception;
+    
+    abstract void setDouble(Object instance, double value) throws Exception;
   }
   
-  private static class Accessor {
+  private static class ReflectiveAccessor extends Accessor {
     final Field field;
     final Method method;
     
-    Accessor(AccessibleObject accessibleObject) {
+    ReflectiveAccessor(AccessibleObject accessibleObject) {
+      super(accessibleObject);
       this.field = accessibleObject instanceof Field ? (Field) accessibleObject : null;
       this.method = accessibleObject instanceof Method ? (Method) accessibleObject : null;
-      accessibleObject.setAccessible(true);
-    }
-    
-    Class<?> getType() {
-      return field != null ? field.getType() : method.getParameterTypes()[0];
     }
     
+    @Override
     void set(Object instance, Object value) {
       try {
         if (field != null) {
@@ -196,5 +626,163 @@ public class ObjectRowProcessor<T> implements RowProcessor<T> {
         throw new RuntimeException(e);
       }
     }
+    
+    @Override
+    void setBoolean(Object instance, boolean value) throws Exception {
+      if (field != null) {
+        field.setBoolean(instance, value);
+      } else {
+        set(instance, value);
+      }
+    }
+    
+    @Override
+    void setByte(Object instance, byte value) throws Exception {
+      if (field != null) {
+        field.setByte(instance, value);
+      } else {
+        set(instance, value);
+      }
+    }
+    
+    @Override
+    void setShort(Object instance, short value) throws Exception {
+      if (field != null) {
+        field.setShort(instance, value);
+      } else {
+        set(instance, value);
+      }
+    }
+    
+    @Override
+    void setInt(Object instance, int value) throws Exception {
+      if (field != null) {
+        field.setInt(instance, value);
+      } else {
+        set(instance, value);
+      }
+    }
+    
+    @Override
+    void setLong(Object instance, long value) throws Exception {
+      if (field != null) {
+        field.setLong(instance, value);
+      } else {
+        set(instance, value);
+      }
+    }
+    
+    @Override
+    void setFloat(Object instance, float value) throws Exception {
+      if (field != null) {
+        field.setFloat(instance, value);
+      } else {
+        set(instance, value);
+      }
+    }
+    
+    @Override
+    void setDouble(Object instance, double value) throws Exception {
+      if (field != null) {
+        field.setDouble(instance, value);
+      } else {
+        set(instance, value);
+      }
+    }
+  }
+  
+  /**
+   * Primitive fields and setters are invoked with an exactly-typed {@link MethodHandle}, so values are not boxed.
+   */
+  private static class MethodHandleAccessor extends Accessor {
+    
+    final MethodHandle setter;
+    final MethodHandle objectSetter;
+    
+    MethodHandleAccessor(AccessibleObject accessibleObject) {
+      super(accessibleObject);
+      try {
+        MethodHandle handle = accessibleObject instanceof Field ? LOOKUP.unreflectSetter((Field) accessibleObject) : LOOKUP.unreflect((Method) accessibleObject);
+        this.setter = handle.asType(MethodType.methodType(void.class, Object.class, type.isPrimitive() ? type : Object.class));
+        this.objectSetter = type.isPrimitive() ? handle.asType(MethodType.methodType(void.class, Object.class, Object.class)) : setter;
+      } catch (IllegalAccessException e) {
+        throw new RuntimeException(e);
+      }
+    }
+    
+    /**
+     * Unboxes the value if the field or setter is primitive, such as when a {@link Converter} is registered for a primitive type.
+     */
+    @Override
+    void set(Object instance, Object value) throws Exception {
+      try {
+        objectSetter.invokeExact(instance, value);
+      } catch (Throwable e) {
+        throw unchecked(e);
+      }
+    }
+    
+    @Override
+    void setBoolean(Object instance, boolean value) throws Exception {
+      try {
+        setter.invokeExact(instance, value);
+      } catch (Throwable e) {
+        throw unchecked(e);
+      }
+    }
+    
+    @Override
+    void setByte(Object instance, byte value) throws Exception {
+      try {
+        setter.invokeExact(instance, value);
+      } catch (Throwable e) {
+        throw unchecked(e);
+      }
+    }
+    
+    @Override
+    void setShort(Object instance, short value) throws Exception {
+      try {
+        setter.invokeExact(instance, value);
+      } catch (Throwable e) {
+        throw unchecked(e);
+      }
+    }
+    
+    @Override
+    void setInt(Object instance, int value) throws Exception {
+      try {
+        setter.invokeExact(instance, value);
+      } catch (Throwable e) {
+        throw unchecked(e);
+      }
+    }
+    
+    @Override
+    void setLong(Object instance, long value) throws Exception {
+      try {
+        setter.invokeExact(instance, value);
+      } catch (Throwable e) {
+        throw unchecked(e);
+      }
+    }
+    
+    @Override
+    void setFloat(Object instance, float value) throws Exception {
+      try {
+        setter.invokeExact(instance, value);
+      } catch (Throwable e) {
+        throw unchecked(e);
+      }
+    }
+    
+    @Override
+    void setDouble(Object instance, double value) throws Exception {
+      try {
+        setter.invokeExact(instance, value);
+      } catch (Throwable e) {
+        throw unchecked(e);
+      }
+    }
   }
 }
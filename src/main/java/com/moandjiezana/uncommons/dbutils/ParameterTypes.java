@@ -0,0 +1,75 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The SQL types of each statement's parameters, as reported by {@link ParameterMetaData}. Used to bind null values.
+ * 
+ * The types of a statement are looked up the first time a null is bound to it, then cached by SQL.
+ * When more than {@link #MAX_STATEMENTS} statements have been seen, the least recently used one is forgotten. Threadsafe.
+ */
+class ParameterTypes {
+  
+  static final int MAX_STATEMENTS = 1024;
+  
+  private final int capacity;
+  private final LinkedHashMap<String, int[]> types;
+  private volatile boolean supported = true;
+  
+  ParameterTypes() {
+    this(MAX_STATEMENTS);
+  }
+  
+  ParameterTypes(int capacity) {
+    this.capacity = capacity;
+    this.types = new LinkedHashMap<String, int[]>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+        return size() > ParameterTypes.this.capacity;
+      }
+    };
+  }
+  
+  /**
+   * @return the parameter's SQL type. VARCHAR if the driver cannot provide it, as it works with many drivers regardless of the actual column type. Oddly, NULL and OTHER don't work with Oracle's drivers.
+   */
+  int typeOf(PreparedStatement statement, String sql, int jdbcIndex) {
+    int[] sqlTypes = get(sql);
+    
+    if (sqlTypes == null && supported) {
+      try {
+        ParameterMetaData metaData = statement.getParameterMetaData();
+        sqlTypes = new int[metaData.getParameterCount()];
+        for (int i = 0; i < sqlTypes.length; i++) {
+          sqlTypes[i] = metaData.getParameterType(i + 1);
+        }
+        
+        put(sql, sqlTypes);
+      } catch (Exception e) {
+        supported = false;
+      }
+    }
+    
+    if (sqlTypes == null || jdbcIndex > sqlTypes.length) {
+      return Types.VARCHAR;
+    }
+    
+    return sqlTypes[jdbcIndex - 1];
+  }
+  
+  synchronized int size() {
+    return types.size();
+  }
+  
+  private synchronized int[] get(String sql) {
+    return types.get(sql);
+  }
+  
+  private synchronized void put(String sql, int[] sqlTypes) {
+    types.put(sql, sqlTypes);
+  }
+}
@@ -0,0 +1,120 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>How long each phase of a query took and how much data it handled. Immutable.</p>
+ *
+ * <p>Phases follow each other, so their sum is the total duration:</p>
+ * <ol>
+ *  <li>acquire: obtaining the {@link java.sql.Connection}</li>
+ *  <li>prepare: preparing the {@link java.sql.PreparedStatement} or taking it from the statement cache</li>
+ *  <li>execute: binding parameters and executing the statement</li>
+ *  <li>map: running the {@link ResultSetHandler}, or consuming a {@link java.util.stream.Stream}</li>
+ *  <li>release: closing or caching the statement and releasing the {@link java.sql.Connection}</li>
+ * </ol>
+ *
+ * When a batch is executed in several chunks, the prepare and execute durations are summed over all of them.
+ *
+ * @see QueryListener
+ */
+public final class QueryEvent {
+
+  public static enum Operation {
+    SELECT, STREAM, EXECUTE, INSERT, BATCH, BATCH_INSERT,
+    /**
+     * The whole of a {@link QueryRunner#tx(com.moandjiezana.uncommons.dbutils.functions.BiConsumerWithException)} call. The execute phase is the time spent in the transaction's lambda.
+     * The queries run inside the transaction are reported separately.
+     */
+    TRANSACTION
+  }
+
+  private final Operation operation;
+  private final String sql;
+  private final long acquireNanos;
+  private final long prepareNanos;
+  private final long executeNanos;
+  private final long mapNanos;
+  private final long releaseNanos;
+  private final long rows;
+  private final long batchSize;
+  private final Throwable error;
+
+  public Operation getOperation() {
+    return operation;
+  }
+
+  /**
+   * @return the SQL as given to the {@link QueryRunner}, or null for a {@link Operation#TRANSACTION}
+   */
+  public String getSql() {
+    return sql;
+  }
+
+  public long getAcquireNanos() {
+    return acquireNanos;
+  }
+
+  public long getPrepareNanos() {
+    return prepareNanos;
+  }
+
+  public long getExecuteNanos() {
+    return executeNanos;
+  }
+
+  public long getMapNanos() {
+    return mapNanos;
+  }
+
+  public long getReleaseNanos() {
+    return releaseNanos;
+  }
+
+  public long getTotalNanos() {
+    return acquireNanos + prepareNanos + executeNanos + mapNanos + releaseNanos;
+  }
+
+  /**
+   * @return the number of rows read by the {@link ResultSetHandler} or {@link java.util.stream.Stream}, the update count of an EXECUTE or BATCH, or -1 if unknown
+   */
+  public long getRows() {
+    return rows;
+  }
+
+  /**
+   * @return the number of parameter rows sent in a BATCH or BATCH_INSERT, 0 otherwise
+   */
+  public long getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * @return the exception that made the query fail, or null if it succeeded
+   */
+  public Throwable getError() {
+    return error;
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  @Override
+  public String toString() {
+    return "QueryEvent [operation=" + operation + ", sql=" + sql + ", totalMicros=" + TimeUnit.NANOSECONDS.toMicros(getTotalNanos()) + ", rows=" + rows + ", batchSize=" + batchSize + ", success=" + isSuccess() + "]";
+  }
+
+  QueryEvent(Operation operation, String sql, long acquireNanos, long prepareNanos, long executeNanos, long mapNanos, long releaseNanos, long rows, long batchSize, Throwable error) {
+    this.operation = operation;
+    this.sql = sql;
+    this.acquireNanos = acquireNanos;
+    this.prepareNanos = prepareNanos;
+    this.executeNanos = executeNanos;
+    this.mapNanos = mapNanos;
+    this.releaseNanos = releaseNanos;
+    this.rows = rows;
+    this.batchSize = batchSize;
+    this.error = error;
+  }
+}
@@ -0,0 +1,150 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ExecutorService}s suited to blocking JDBC calls, for use with {@link QueryRunner#toAsync(java.util.concurrent.Executor)}.
+ * 
+ * <pre><code>
+ * ExecutorService executor = QueryExecutors.virtualThreads(32);
+ * AsyncQueryRunner asyncQueryRunner = queryRunner.toAsync(executor);
+ * // on shutdown
+ * executor.shutdown();
+ * </code></pre>
+ */
+public final class QueryExecutors {
+  
+  private static final Logger LOG = LoggerFactory.getLogger(QueryExecutors.class);
+  private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = virtualThreadFactoryMethod();
+  
+  /**
+   * @return true if the runtime can start virtual threads (Java 21+)
+   */
+  public static boolean supportsVirtualThreads() {
+    return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+  }
+  
+  /**
+   * <p>Runs each query on its own virtual thread, so a blocked JDBC call does not tie up a platform thread.
+   * At most maxConcurrency queries run at the same time; the others wait on their virtual thread. Set it to the size of the connection pool.</p>
+   * 
+   * <p>If the runtime does not support virtual threads, falls back to {@link #fixedThreads(int)}.</p>
+   * 
+   * @param maxConcurrency
+   *    the maximum number of queries running at the same time
+   * @return an {@link ExecutorService} that must be shut down by the caller
+   */
+  public static ExecutorService virtualThreads(int maxConcurrency) {
+    checkConcurrency(maxConcurrency);
+    
+    if (!supportsVirtualThreads()) {
+      LOG.debug("Virtual threads are not supported, using {} platform threads", maxConcurrency);
+      return fixedThreads(maxConcurrency);
+    }
+    
+    try {
+      return new LimitedExecutorService((ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null), maxConcurrency);
+    } catch (ReflectiveOperationException e) {
+      LOG.warn("Could not create virtual thread executor, using {} platform threads", maxConcurrency, e);
+      return fixedThreads(maxConcurrency);
+    }
+  }
+  
+  /**
+   * A pool of maxConcurrency daemon threads dedicated to queries, so they do not starve {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+   * 
+   * @param maxConcurrency
+   *    the number of threads, usually the size of the connection pool
+   * @return an {@link ExecutorService} that must be shut down by the caller
+   */
+  public static ExecutorService fixedThreads(int maxConcurrency) {
+    checkConcurrency(maxConcurrency);
+    
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadFactory threadFactory = runnable -> {
+      Thread thread = new Thread(runnable, "uncommons-dbutils-query-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      
+      return thread;
+    };
+    
+    return Executors.newFixedThreadPool(maxConcurrency, threadFactory);
+  }
+  
+  private static void checkConcurrency(int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be at least 1, but was " + maxConcurrency);
+    }
+  }
+  
+  private static Method virtualThreadFactoryMethod() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+  
+  /**
+   * Runs each task on the delegate, but lets only a limited number of them proceed at the same time.
+   */
+  private static class LimitedExecutorService extends AbstractExecutorService {
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    
+    LimitedExecutorService(ExecutorService delegate, int maxConcurrency) {
+      this.delegate = delegate;
+      this.permits = new Semaphore(maxConcurrency);
+    }
+    
+    @Override
+    public void execute(Runnable command) {
+      delegate.execute(() -> {
+        permits.acquireUninterruptibly();
+        try {
+          command.run();
+        } finally {
+          permits.release();
+        }
+      });
+    }
+    
+    @Override
+    public void shutdown() {
+      delegate.shutdown();
+    }
+    
+    @Override
+    public List<Runnable> shutdownNow() {
+      return delegate.shutdownNow();
+    }
+    
+    @Override
+    public boolean isShutdown() {
+      return delegate.isShutdown();
+    }
+    
+    @Override
+    public boolean isTerminated() {
+      return delegate.isTerminated();
+    }
+    
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return delegate.awaitTermination(timeout, unit);
+    }
+  }
+  
+  private QueryExecutors() {}
+}
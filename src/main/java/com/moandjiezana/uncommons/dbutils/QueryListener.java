@@ -0,0 +1,21 @@
+package com.moandjiezana.uncommons.dbutils;
+
+/**
+ * <p>Notified once each query run by a {@link QueryRunner} has completed, successfully or not.</p>
+ *
+ * <pre><code>
+ * HistogramQueryListener metrics = new HistogramQueryListener();
+ * QueryRunner queryRunner = QueryRunner.create(dataSource).withListener(metrics);
+ * </code></pre>
+ *
+ * Called on the thread that ran the query, after the {@link java.sql.Connection} has been released, so implementations must be threadsafe and fast.
+ * Exceptions thrown by a listener are logged and otherwise ignored.
+ *
+ * @see QueryRunner#withListener(QueryListener)
+ * @see HistogramQueryListener
+ */
+@FunctionalInterface
+public interface QueryListener {
+
+  void onQuery(QueryEvent event);
+}
@@ -18,19 +18,27 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.moandjiezana.uncommons.dbutils.QueryEvent.Operation;
 import com.moandjiezana.uncommons.dbutils.functions.BiConsumerWithException;
 import com.moandjiezana.uncommons.dbutils.functions.ConsumerWithException;
 import com.moandjiezana.uncommons.dbutils.functions.FunctionWithException;
@@ -66,7 +74,14 @@ public class QueryRunner {
   
   private final SupplierWithException<Connection> connection;
   private final ConsumerWithException<Connection> finalizer;
-  private boolean useParameterMetaData = true;
+  private final Converters converters;
+  private final Binders binders;
+  private final StatementOptions statementOptions;
+  private final Connection boundConnection;
+  private final int statementCacheCapacity;
+  private final StatementCache statementCache;
+  private final ParameterTypes parameterTypes;
+  private final QueryListener listener;
 
   /**
    * <pre><code>
@@ -88,25 +103,208 @@ public class QueryRunner {
       }
     }
     
-    return new QueryRunner(() -> connection, c -> {});
+    return new QueryRunner(() -> connection, c -> {}, connection);
   }
 
+  /**
+   * A {@link Connection} is obtained from the {@link DataSource} for each query and closed afterwards.
+   * If the {@link DataSource} does not pool its {@link Connection}s, wrap it in a {@link ConnectionPool}:
+   * 
+   * <pre><code>
+   * ConnectionPool pool = ConnectionPool.create(driverDataSource, 10);
+   * QueryRunner queryRunner = QueryRunner.create(pool);
+   * </code></pre>
+   * 
+   * @param dataSource
+   *    provides a {@link Connection} for each query
+   * @return a {@link DataSource}-based QueryRunner
+   */
   public static QueryRunner create(DataSource dataSource) {
-    return new QueryRunner(() -> dataSource.getConnection(), c -> c.close());
+    return new QueryRunner(() -> dataSource.getConnection(), c -> c.close(), null);
   }
   
   public QueryRunner initializeWith(ConsumerWithException<Connection> initializer) {
-    return new QueryRunner(connection.andThen(initializer), finalizer);
+    return new QueryRunner(connection.andThen(initializer), finalizer, boundConnection, converters, binders, statementOptions, statementCacheCapacity, statementCache, parameterTypes, listener);
+  }
+  
+  /**
+   * <pre><code>
+   * Converters tenantConverters = Converters.INSTANCE.child();
+   * QueryRunner tenantQueryRunner = queryRunner.withConverters(tenantConverters);
+   * tenantQueryRunner.select(sql, list(fieldsProcessor(Person.class)));
+   * </code></pre>
+   * 
+   * {@link RowProcessor}s created with {@link Converters#INSTANCE}, which is the default, use the given {@link Converters} when they are run by the new QueryRunner.
+   * {@link RowProcessor}s created with other {@link Converters} keep using them.
+   * 
+   * @param converters
+   *    the {@link Converters} to be used by the {@link RowProcessor}s given to this QueryRunner
+   * @return a new QueryRunner with the same configuration
+   */
+  public QueryRunner withConverters(Converters converters) {
+    return new QueryRunner(connection, finalizer, boundConnection, converters, binders, statementOptions, statementCacheCapacity, statementCache, parameterTypes, listener);
+  }
+  
+  /**
+   * @return the {@link Converters} set via {@link #withConverters(Converters)}. {@link Converters#INSTANCE} by default.
+   */
+  public Converters getConverters() {
+    return converters;
+  }
+  
+  /**
+   * <pre><code>
+   * Binders tenantBinders = Binders.INSTANCE.child();
+   * tenantBinders.register(Money.class, (statement, i, money) -&gt; statement.setBigDecimal(i, money.getAmount()));
+   * queryRunner.withBinders(tenantBinders).execute("UPDATE invoices SET total = ? WHERE id = ?", total, id);
+   * </code></pre>
+   * 
+   * @param binders
+   *    the {@link Binders} used to set each non-null parameter
+   * @return a new QueryRunner with the same configuration
+   */
+  public QueryRunner withBinders(Binders binders) {
+    return new QueryRunner(connection, finalizer, boundConnection, converters, binders, statementOptions, statementCacheCapacity, statementCache, parameterTypes, listener);
+  }
+  
+  /**
+   * @return the {@link Binders} set via {@link #withBinders(Binders)}. {@link Binders#INSTANCE} by default.
+   */
+  public Binders getBinders() {
+    return binders;
+  }
+  
+  /**
+   * Some drivers, such as PostgreSQL's, only use a server-side cursor when a fetch size is set and auto-commit is off.
+   * 
+   * @param fetchSize
+   *    the number of rows the driver should fetch at a time when executing SELECTs. 0 leaves the driver's default.
+   * @return a new QueryRunner with the same configuration
+   * @see Statement#setFetchSize(int)
+   * @see #withStatementOptions(StatementOptions)
+   */
+  public QueryRunner withFetchSize(int fetchSize) {
+    return withStatementOptions(statementOptions.fetchSize(fetchSize));
+  }
+  
+  /**
+   * As QueryRunner instances are cheap to create, this can also be used to tune a single call:
+   * 
+   * <pre><code>
+   * queryRunner.withStatementOptions(StatementOptions.DEFAULTS.queryTimeout(5)).select(sql, handler);
+   * </code></pre>
+   * 
+   * @param statementOptions
+   *    applied to each {@link Statement} before it is executed. Also used by transactions and {@link AsyncQueryRunner}s created from the new QueryRunner.
+   * @return a new QueryRunner with the same configuration
+   */
+  public QueryRunner withStatementOptions(StatementOptions statementOptions) {
+    return new QueryRunner(connection, finalizer, boundConnection, converters, binders, statementOptions, statementCacheCapacity, statementCache, parameterTypes, listener);
+  }
+  
+  /**
+   * @return the {@link StatementOptions} applied to each {@link Statement}. {@link StatementOptions#DEFAULTS} by default.
+   */
+  public StatementOptions getStatementOptions() {
+    return statementOptions;
+  }
+
+  /**
+   * <pre><code>
+   * HistogramQueryListener metrics = new HistogramQueryListener();
+   * QueryRunner queryRunner = QueryRunner.create(dataSource).withListener(metrics);
+   * </code></pre>
+   *
+   * @param listener
+   *    notified after each query, with its phase timings, row count and error, if any. null removes the current listener.
+   *    Also used by transactions and {@link AsyncQueryRunner}s created from the new QueryRunner.
+   * @return a new QueryRunner with the same configuration
+   */
+  public QueryRunner withListener(QueryListener listener) {
+    return new QueryRunner(connection, finalizer, boundConnection, converters, binders, statementOptions, statementCacheCapacity, statementCache, parameterTypes, listener);
+  }
+
+  /**
+   * @return the {@link QueryListener} set via {@link #withListener(QueryListener)}, or null
+   */
+  public QueryListener getListener() {
+    return listener;
   }
 
+  /**
+   * <p>Keeps up to <code>capacity</code> {@link PreparedStatement}s open per {@link Connection}, instead of preparing and closing a statement on every call.
+   * Statements are cached by SQL, generated keys mode and {@link StatementOptions}. When the cache is full, the least recently used statement is closed.</p>
+   * 
+   * <p>For a {@link Connection}-based QueryRunner, the cache lives as long as the QueryRunner and its statements are closed along with the {@link Connection}.
+   * For a {@link DataSource}-based QueryRunner, each call to {@link #tx(BiConsumerWithException)} gets its own cache, which is closed when the transaction ends.</p>
+   * 
+   * <pre><code>
+   * queryRunner.withStatementCache(32).tx((qr, tx) -&gt; {
+   *   for (Person person : persons) {
+   *     qr.execute("UPDATE persons SET name = ? WHERE id = ?", person.getName(), person.getId());
+   *   }
+   *   tx.commit();
+   * });
+   * </code></pre>
+   * 
+   * @param capacity
+   *    the maximum number of open statements per {@link Connection}. 0 disables caching.
+   * @return a new QueryRunner with the same configuration
+   */
+  public QueryRunner withStatementCache(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Statement cache capacity cannot be negative: " + capacity);
+    }
+    
+    StatementCache statementCache = boundConnection != null && capacity > 0 ? new StatementCache(capacity) : null;
+    
+    return new QueryRunner(connection, finalizer, boundConnection, converters, binders, statementOptions, capacity, statementCache, parameterTypes, listener);
+  }
+
+  /**
+   * Runs queries on {@link ForkJoinPool#commonPool()}, which has as many threads as there are cores. As JDBC calls block, prefer {@link #toAsync(Executor)} with an executor from {@link QueryExecutors} for anything but light use.
+   * 
+   * @return an {@link AsyncQueryRunner} with the same configuration
+   */
   public AsyncQueryRunner toAsync() {
     return toAsync(ForkJoinPool.commonPool());
   }
 
+  /**
+   * @param executor
+   *    runs the queries. See {@link QueryExecutors} for executors suited to blocking JDBC calls.
+   * @return an {@link AsyncQueryRunner} with the same configuration
+   */
   public AsyncQueryRunner toAsync(Executor executor) {
     return new AsyncQueryRunner(this, executor);
   }
   
+  /**
+   * @return a pinned {@link AsyncQueryRunner} that runs queries on {@link ForkJoinPool#commonPool()}
+   * @see #toPinnedAsync(Executor)
+   */
+  public AsyncQueryRunner toPinnedAsync() {
+    return toPinnedAsync(ForkJoinPool.commonPool());
+  }
+  
+  /**
+   * <p>For a {@link Connection}-based QueryRunner, queries are run one at a time, in the order they were submitted, as a {@link Connection} must not be used by several threads at once.
+   * All pinned {@link AsyncQueryRunner}s created for the same {@link Connection} share a single lane, while queries on different {@link Connection}s still run in parallel.</p>
+   * 
+   * <p>A {@link DataSource}-based QueryRunner uses a new {@link Connection} for each query, so this is the same as {@link #toAsync(Executor)}.</p>
+   * 
+   * @param executor
+   *    runs the queries
+   * @return an {@link AsyncQueryRunner} with the same configuration
+   */
+  public AsyncQueryRunner toPinnedAsync(Executor executor) {
+    if (boundConnection == null) {
+      return toAsync(executor);
+    }
+    
+    return new AsyncQueryRunner(this, SerialExecutor.lane(boundConnection).on(executor));
+  }
+  
   /**
    * <p>
    * SQL NOTE:
@@ -135,6 +333,11 @@ public class QueryRunner {
    * See <a href="http://blog.jooq.org/2012/09/21/the-is-distinct-from-predicate/">http://blog.jooq.org/2012/09/21/the-is-distinct-from-predicate/</a> for more info.
    * </p>
    * 
+   * <p>
+   * The SQL type of a null parameter is read from the statement's {@link java.sql.ParameterMetaData} the first time, then cached by SQL.
+   * Pass a {@link TypedNull} instead of <code>null</code> to skip the lookup entirely.
+   * </p>
+   * 
    * @param sql
    *    the SELECT to execute
    * @param resultSetHandler
@@ -146,17 +349,113 @@ public class QueryRunner {
    * @return an instance of T as determined by resultSetHandler
    */
  public <T> T select(String sql, ResultSetHandler<T> resultSetHandler, Object... params) {
-    return run(c -> {
+    QueryTimer timer = QueryTimer.start(listener, Operation.SELECT, sql);
+
+    return run(timer, c -> {
       log(sql, params);
-      try (PreparedStatement stmt = c.prepareStatement(sql);) {
-        fillStatementParam(stmt, params);
-        
+      return withStatement(c, sql, Statement.NO_GENERATED_KEYS, timer, stmt -> {
+        fillStatementParam(stmt, sql, params);
+
         try (ResultSet rs = stmt.executeQuery();) {
-          return resultSetHandler.handle(rs);
+          timer.executed();
+          T result = handle(resultSetHandler, timer.count(rs));
+          timer.mapped();
+
+          return result;
         }
-      }
+      });
     });
   }
+  
+  /**
+   * <p>Maps rows lazily, as the returned {@link Stream} is consumed, so the whole {@link ResultSet} is never held in memory.</p>
+   * 
+   * <p>The {@link ResultSet}, {@link PreparedStatement} and {@link Connection} remain open until the {@link Stream} is closed or all of its rows have been consumed.
+   * Always use the {@link Stream} in a try-with-resources block:</p>
+   * 
+   * <pre><code>
+   * try (Stream&lt;Person&gt; persons = queryRunner.withFetchSize(1000).stream("SELECT * FROM persons", fieldsProcessor(Person.class))) {
+   *   persons.forEach(exporter::write);
+   * }
+   * </code></pre>
+   * 
+   * <p>As the {@link Connection} stays in use, do not run other queries on it while consuming the {@link Stream}.</p>
+   * 
+   * <p>SQL NOTE: if you wish to use possibly <code>null</code> values, please see the discussion in {@link #select(String, ResultSetHandler, Object...)}</p>
+   * 
+   * @param sql
+   *    the SELECT to execute
+   * @param rowProcessor
+   *    converts each row
+   * @param params
+   *    values for the SQL placeholders
+   * @param <T>
+   *    the type each row is converted to
+   * @return a sequential, ordered {@link Stream} that must be closed
+   * @see #withFetchSize(int)
+   */
+  public <T> Stream<T> stream(String sql, RowProcessor<T> rowProcessor, Object... params) {
+    QueryTimer timer = QueryTimer.start(listener, Operation.STREAM, sql);
+    Connection c = null;
+    PreparedStatement stmt = null;
+    ResultSet rs = null;
+    try {
+      c = connection.get();
+      timer.acquired();
+      log(sql, params);
+      stmt = prepare(c, sql, Statement.NO_GENERATED_KEYS);
+      timer.prepared();
+      fillStatementParam(stmt, sql, params);
+      rs = timer.count(stmt.executeQuery());
+      timer.executed();
+    } catch (Exception e) {
+      timer.failed(e);
+      release(c, sql, Statement.NO_GENERATED_KEYS, stmt, rs, false);
+      timer.released();
+      throw propagate(e);
+    }
+
+    Connection _connection = c;
+    PreparedStatement _stmt = stmt;
+    ResultSet _rs = rs;
+    ResultSetHandler<T> rowHandler = rowProcessor::handle;
+    AtomicBoolean released = new AtomicBoolean();
+    AtomicBoolean failed = new AtomicBoolean();
+    Runnable releaser = () -> {
+      if (released.compareAndSet(false, true)) {
+        timer.mapped();
+        release(_connection, sql, Statement.NO_GENERATED_KEYS, _stmt, _rs, !failed.get());
+        timer.released();
+      }
+    };
+    
+    Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+      @Override
+      public boolean tryAdvance(Consumer<? super T> action) {
+        if (released.get()) {
+          return false;
+        }
+        
+        try {
+          if (!_rs.next()) {
+            releaser.run();
+            return false;
+          }
+          
+          action.accept(handle(rowHandler, _rs));
+          
+          return true;
+        } catch (Exception e) {
+          failed.set(true);
+          timer.failed(e);
+          releaser.run();
+          throw propagate(e);
+        }
+      }
+    };
+    
+    return StreamSupport.stream(rows, false).onClose(releaser);
+  }
 
   /**
    * <p>SQL NOTE: if you wish to use possibly <code>null</code> values, please see the discussion in {@link #select(String, ResultSetHandler, Object...)}</p>
@@ -169,13 +468,19 @@ public class QueryRunner {
    * @return The number of rows updated.
    */
   public int execute(String sql, Object... params) {
-    return run(c -> {
+    QueryTimer timer = QueryTimer.start(listener, Operation.EXECUTE, sql);
+
+    return run(timer, c -> {
       log(sql, params);
-      try (PreparedStatement statement = c.prepareStatement(sql);) {
-        fillStatementParam(statement, params);
+      return withStatement(c, sql, Statement.NO_GENERATED_KEYS, timer, statement -> {
+        fillStatementParam(statement, sql, params);
 
-        return statement.executeUpdate();
-      }
+        int updateCount = statement.executeUpdate();
+        timer.executed();
+        timer.rows(updateCount);
+
+        return updateCount;
+      });
     });
   }
   
@@ -191,17 +496,23 @@ public class QueryRunner {
    * @return an instance of T as determined by resultSetHandler
    */
   public <T> T insert(String sql, ResultSetHandler<T> resultSetHandler, Object... params) {
-    return run(c -> {
+    QueryTimer timer = QueryTimer.start(listener, Operation.INSERT, sql);
+
+    return run(timer, c -> {
       log(sql, params);
-      try (PreparedStatement stmt = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);) {
-        fillStatementParam(stmt, params);
+      return withStatement(c, sql, Statement.RETURN_GENERATED_KEYS, timer, stmt -> {
+        fillStatementParam(stmt, sql, params);
 
         stmt.executeUpdate();
+        timer.executed();
 
         try (ResultSet resultSet = stmt.getGeneratedKeys();) {
-          return resultSetHandler.handle(resultSet);
+          T result = handle(resultSetHandler, timer.count(resultSet));
+          timer.mapped();
+
+          return result;
         }
-      }
+      });
     });
   }
 
@@ -213,17 +524,161 @@ public class QueryRunner {
    * @return the number of affected rows for each time the SQL was executed
    */
   public int[] batch(String sql, List<List<Object>> batchParams) {
-    return run(c -> {
-      try (PreparedStatement statement = c.prepareStatement(sql);) {
+    QueryTimer timer = QueryTimer.start(listener, Operation.BATCH, sql);
+
+    return run(timer, c -> {
+      return withStatement(c, sql, Statement.NO_GENERATED_KEYS, timer, statement -> {
         for (List<Object> params : batchParams) {
           if (LOG.isDebugEnabled()) {
             log(sql, params.toArray());
           }
-          this.fillStatementParams(statement, params);
+          this.fillStatementParams(statement, sql, params);
           statement.addBatch();
         }
 
-        return statement.executeBatch();
+        int[] updateCounts = statement.executeBatch();
+        timer.executed();
+        timer.batched(updateCounts);
+
+        return updateCounts;
+      });
+    });
+  }
+  
+  /**
+   * <p>Executes a batch without holding all of its rows in memory. Rows are added to the batch as they are read from the {@link Iterator},
+   * and the batch is executed whenever the limits set in {@link BatchOptions} are reached.</p>
+   * 
+   * <pre><code>
+   * Iterator&lt;List&lt;Object&gt;&gt; rows = csvReader.rows();
+   * BatchResult result = queryRunner.batch("INSERT INTO events(name, created_at) VALUES(?, ?)", rows, BatchOptions.DEFAULTS.rows(5000).commitEachChunk(true));
+   * </code></pre>
+   * 
+   * @param sql
+   *    the SQL to execute
+   * @param batchParams
+   *    values for the SQL placeholders, one {@link List} per execution. Consumed once.
+   * @param batchOptions
+   *    when to execute a chunk and whether to commit it
+   * @return the update counts of all the chunks
+   */
+  public BatchResult batch(String sql, Iterator<? extends List<?>> batchParams, BatchOptions batchOptions) {
+    QueryTimer timer = QueryTimer.start(listener, Operation.BATCH, sql);
+
+    return run(timer, c -> inChunks(c, batchOptions, commit -> withStatement(c, sql, Statement.NO_GENERATED_KEYS, timer, statement -> {
+      BatchResult result = new BatchResult();
+      int rows = 0;
+      long bytes = 0;
+      
+      while (batchParams.hasNext()) {
+        List<?> params = batchParams.next();
+        if (LOG.isDebugEnabled()) {
+          log(sql, params.toArray());
+        }
+        this.fillStatementParams(statement, sql, params);
+        statement.addBatch();
+        rows++;
+        bytes += estimateSize(params, batchOptions);
+        
+        if (isChunkFull(rows, bytes, batchOptions.getRows(), batchOptions)) {
+          result = executeChunk(c, statement, result, commit, timer);
+          rows = 0;
+          bytes = 0;
+        }
+      }
+      
+      if (rows > 0) {
+        result = executeChunk(c, statement, result, commit, timer);
+      }
+      
+      return result;
+    })));
+  }
+  
+  /**
+   * The {@link Stream} is not closed.
+   * 
+   * @param sql
+   *    the SQL to execute
+   * @param batchParams
+   *    values for the SQL placeholders, one {@link List} per execution
+   * @param batchOptions
+   *    when to execute a chunk and whether to commit it
+   * @return the update counts of all the chunks
+   * @see #batch(String, Iterator, BatchOptions)
+   */
+  public BatchResult batch(String sql, Stream<? extends List<?>> batchParams, BatchOptions batchOptions) {
+    return batch(sql, batchParams.iterator(), batchOptions);
+  }
+
+  /**
+   * <p>Inserts rows as they are read from the {@link Iterator}, in chunks sized by {@link BatchOptions}.
+   * With {@link BatchOptions#multiRowValues(boolean)}, each chunk is sent as a single <code>INSERT ... VALUES (...), (...), ...</code> statement,
+   * which is usually much faster than a JDBC batch.</p>
+   * 
+   * <pre><code>
+   * List&lt;Long&gt; ids = queryRunner.batchInsert("INSERT INTO persons(name, email) VALUES(?, ?)", list(firstColumn(Long.class)), rows, BatchOptions.DEFAULTS.multiRowValues(true).maxParameters(2100));
+   * </code></pre>
+   * 
+   * <p>The generated keys of all the chunks are held in memory and given to resultSetHandler once all rows have been inserted.
+   * Whether a multi-row statement returns the keys of every row depends on the driver.</p>
+   * 
+   * @param sql
+   *    the INSERT to execute. With multi-row VALUES, it must contain a single VALUES (...) group.
+   * @param resultSetHandler
+   *    transforms the {@link ResultSet}, which contains the generated keys
+   * @param batchParams
+   *    values for the SQL placeholders, one {@link List} per row. Consumed once.
+   * @param batchOptions
+   *    how rows are split into chunks and inserted
+   * @param <T>
+   *    the type of instance to return
+   * @return an instance of T as determined by resultSetHandler
+   * @throws IllegalArgumentException if multi-row VALUES is used and the SQL cannot be rewritten
+   */
+  public <T> T batchInsert(String sql, ResultSetHandler<T> resultSetHandler, Iterator<? extends List<?>> batchParams, BatchOptions batchOptions) {
+    MultiRowInsert multiRowInsert = batchOptions.isMultiRowValues() ? MultiRowInsert.parse(sql) : null;
+    int rowsPerChunk = multiRowInsert != null ? multiRowInsert.rowsPerStatement(batchOptions) : batchOptions.getRows();
+    
+    QueryTimer timer = QueryTimer.start(listener, Operation.BATCH_INSERT, sql);
+
+    return run(timer, c -> {
+      MaterializedResultSet.Builder generatedKeys = new MaterializedResultSet.Builder();
+      
+      inChunks(c, batchOptions, commit -> {
+        List<List<?>> chunk = new ArrayList<>();
+        long bytes = 0;
+        
+        while (batchParams.hasNext()) {
+          List<?> params = batchParams.next();
+          if (LOG.isDebugEnabled()) {
+            log(sql, params.toArray());
+          }
+          if (multiRowInsert != null) {
+            multiRowInsert.checkParameters(params);
+          }
+          chunk.add(params);
+          bytes += estimateSize(params, batchOptions);
+          
+          if (isChunkFull(chunk.size(), bytes, rowsPerChunk, batchOptions)) {
+            insertChunk(c, sql, multiRowInsert, chunk, generatedKeys, commit, timer);
+            chunk.clear();
+            bytes = 0;
+          }
+        }
+        
+        if (!chunk.isEmpty()) {
+          insertChunk(c, sql, multiRowInsert, chunk, generatedKeys, commit, timer);
+        }
+        
+        return null;
+      });
+      
+      try (ResultSet rs = generatedKeys.build()) {
+        T result = handle(resultSetHandler, timer.count(rs));
+        timer.mapped();
+
+        return result;
       }
     });
   }
@@ -240,20 +695,26 @@ public class QueryRunner {
    * @return an instance of T as determined by resultSetHandler
    */
   public <T> T batchInsert(String sql, ResultSetHandler<T> resultSetHandler, List<List<Object>> batchParams) {
-    return run(c -> {
-      try (PreparedStatement stmt = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);) {
+    QueryTimer timer = QueryTimer.start(listener, Operation.BATCH_INSERT, sql);
+
+    return run(timer, c -> {
+      return withStatement(c, sql, Statement.RETURN_GENERATED_KEYS, timer, stmt -> {
         for (List<Object> params : batchParams) {
           if (LOG.isDebugEnabled()) {
             log(sql, params.toArray());
           }
-          this.fillStatementParams(stmt, params);
+          this.fillStatementParams(stmt, sql, params);
           stmt.addBatch();
         }
         stmt.executeBatch();
+        timer.executed();
+        timer.batchSize(batchParams.size());
         ResultSet rs = stmt.getGeneratedKeys();
+        T result = handle(resultSetHandler, timer.count(rs));
+        timer.mapped();
 
-        return resultSetHandler.handle(rs);
-      }
+        return result;
+      });
     });
   }
   
@@ -275,80 +736,315 @@ public class QueryRunner {
   public void tx(BiConsumerWithException<QueryRunner, QueryRunner.Transaction> txQueryRunner) {
     Connection _connection = null;
     Boolean originalAutoCommit = null;
+    StatementCache txStatementCache = null;
+    QueryTimer timer = QueryTimer.start(listener, Operation.TRANSACTION, null);
     try {
       _connection = connection.get();
+      timer.acquired();
       Connection __connection = _connection;
       originalAutoCommit = _connection.getAutoCommit();
       _connection.setAutoCommit(false);
-      QueryRunner queryRunner = new QueryRunner(() -> __connection, c -> {});
+      txStatementCache = txStatementCache();
+      QueryRunner queryRunner = txQueryRunner(__connection, txStatementCache);
       LOG.debug("Transaction: START");
       txQueryRunner.accept(queryRunner, new QueryRunner.Transaction(__connection));
+      timer.executed();
     } catch (Exception e) {
+      timer.failed(e);
       throw propagate(e);
     } finally {
+      if (txStatementCache != null && txStatementCache != statementCache) {
+        txStatementCache.close();
+      }
       if (_connection != null) {
+        if (originalAutoCommit != null) {
+          try {
+            _connection.setAutoCommit(originalAutoCommit);
+          } catch (SQLException e) {
+            LOG.error("Could not reset autocommit to original value", e);
+          }
+        }
         try {
           finalizer.accept(_connection);
         } catch (Exception e) {
           LOG.error("Could not finalize connection", e);
         }
-        
-      }
-      try {
-        _connection.setAutoCommit(originalAutoCommit);
-      } catch (SQLException e) {
-        LOG.error("Could not reset autocommit to original value", e);
       }
+      timer.released();
       LOG.debug("Transaction: END");
     }
   }
 
+  /**
+   * Takes a {@link Connection} and turns off auto-commit. The {@link AsyncTransaction} restores auto-commit and releases the {@link Connection} when it ends.
+   */
+  AsyncTransaction beginAsync(Executor executor) throws Exception {
+    Connection c = connection.get();
+    try {
+      boolean originalAutoCommit = c.getAutoCommit();
+      c.setAutoCommit(false);
+      StatementCache txStatementCache = txStatementCache();
+      LOG.debug("Transaction: START");
+      
+      return new AsyncTransaction(txQueryRunner(c, txStatementCache), c, SerialExecutor.lane(c).on(executor), () -> {
+        try {
+          if (txStatementCache != null && txStatementCache != statementCache) {
+            txStatementCache.close();
+          }
+          c.setAutoCommit(originalAutoCommit);
+        } finally {
+          finalizer.accept(c);
+          LOG.debug("Transaction: END");
+        }
+      });
+    } catch (Exception e) {
+      finalizer.accept(c);
+      throw e;
+    }
+  }
+
   QueryRunner(SupplierWithException<Connection> connection, ConsumerWithException<Connection> finalizer) {
+    this(connection, finalizer, null);
+  }
+
+  QueryRunner(SupplierWithException<Connection> connection, ConsumerWithException<Connection> finalizer, Connection boundConnection) {
+    this(connection, finalizer, boundConnection, Converters.INSTANCE, Binders.INSTANCE, StatementOptions.DEFAULTS, 0, null, new ParameterTypes(), null);
+  }
+
+  private QueryRunner(SupplierWithException<Connection> connection, ConsumerWithException<Connection> finalizer, Connection boundConnection, Converters converters, Binders binders, StatementOptions statementOptions, int statementCacheCapacity, StatementCache statementCache, ParameterTypes parameterTypes, QueryListener listener) {
     this.connection = connection;
     this.finalizer = finalizer;
+    this.boundConnection = boundConnection;
+    this.converters = converters;
+    this.binders = binders;
+    this.statementOptions = statementOptions;
+    this.statementCacheCapacity = statementCacheCapacity;
+    this.statementCache = statementCache;
+    this.parameterTypes = parameterTypes;
+    this.listener = listener;
   }
 
-  private void fillStatementParams(PreparedStatement statement, List<Object> params) throws SQLException {
+  private StatementCache txStatementCache() {
+    return statementCache == null && statementCacheCapacity > 0 ? new StatementCache(statementCacheCapacity) : statementCache;
+  }
+  
+  private QueryRunner txQueryRunner(Connection c, StatementCache txStatementCache) {
+    return new QueryRunner(() -> c, _c -> {}, c, converters, binders, statementOptions, statementCacheCapacity, txStatementCache, parameterTypes, listener);
+  }
+  
+  private void fillStatementParams(PreparedStatement statement, String sql, List<?> params) throws SQLException {
     for (int i = 0; i < params.size(); i++) {
       Object param = params.get(i);
       int jdbcIndex = i + 1;
-      fillStatementParam(statement, param, jdbcIndex);
+      fillStatementParam(statement, sql, param, jdbcIndex);
     }
   }
   
-  private void fillStatementParam(PreparedStatement statement, Object[] params) throws SQLException {
+  private void fillStatementParam(PreparedStatement statement, String sql, Object[] params) throws SQLException {
     for (int i = 0; i < params.length; i++) {
       Object param = params[i];
       int jdbcIndex = i + 1;
-      fillStatementParam(statement, param, jdbcIndex);
+      fillStatementParam(statement, sql, param, jdbcIndex);
     }
   }
 
-  private void fillStatementParam(PreparedStatement statement, Object param, int jdbcIndex) throws SQLException {
-    if (param != null) {
-      statement.setObject(jdbcIndex, param);
+  private void fillStatementParam(PreparedStatement statement, String sql, Object param, int jdbcIndex) throws SQLException {
+    if (param instanceof TypedNull) {
+      statement.setNull(jdbcIndex, ((TypedNull) param).getSqlType());
+    } else if (param != null) {
+      binders.bind(statement, jdbcIndex, param);
     } else {
-      // VARCHAR works with many drivers regardless
-      // of the actual column type. Oddly, NULL and
-      // OTHER don't work with Oracle's drivers.
-      int sqlType = Types.VARCHAR;
-      if (useParameterMetaData) {
+      statement.setNull(jdbcIndex, parameterTypes.typeOf(statement, sql, jdbcIndex));
+    }
+  }
+  
+  /**
+   * Turns off auto-commit while work runs if each chunk is to be committed, and rolls back the failed chunk.
+   * If auto-commit was already off, the transaction belongs to the caller: chunks are neither committed nor rolled back.
+   * 
+   * @param work
+   *    receives whether each chunk is to be committed
+   */
+  private <T> T inChunks(Connection c, BatchOptions batchOptions, FunctionWithException<Boolean, T> work) throws Exception {
+    boolean commitEachChunk = batchOptions.isCommitEachChunk() && c.getAutoCommit();
+    if (commitEachChunk) {
+      c.setAutoCommit(false);
+    }
+    
+    try {
+      return work.apply(commitEachChunk);
+    } catch (Exception e) {
+      if (commitEachChunk) {
         try {
-          sqlType = statement.getParameterMetaData().getParameterType(jdbcIndex);
-        } catch (Exception e) {
-          useParameterMetaData = false;
+          c.rollback();
+        } catch (SQLException rollbackException) {
+          LOG.error("Could not roll back failed chunk", rollbackException);
         }
       }
-      statement.setNull(jdbcIndex, sqlType);
+      throw e;
+    } finally {
+      if (commitEachChunk) {
+        c.setAutoCommit(true);
+      }
+    }
+  }
+  
+  private static long estimateSize(List<?> params, BatchOptions batchOptions) {
+    if (batchOptions.getBytes() == 0) {
+      return 0;
+    }
+    
+    long bytes = 0;
+    for (Object param : params) {
+      bytes += BatchOptions.estimateSize(param);
+    }
+    
+    return bytes;
+  }
+  
+  private static boolean isChunkFull(int rows, long bytes, int maxRows, BatchOptions batchOptions) {
+    return rows >= maxRows || (batchOptions.getBytes() > 0 && bytes >= batchOptions.getBytes());
+  }
+  
+  private void insertChunk(Connection c, String sql, MultiRowInsert multiRowInsert, List<List<?>> chunk, MaterializedResultSet.Builder generatedKeys, boolean commit, QueryTimer timer) throws Exception {
+    if (multiRowInsert != null) {
+      String chunkSql = multiRowInsert.sql(chunk.size());
+      withStatement(c, chunkSql, Statement.RETURN_GENERATED_KEYS, timer, statement -> {
+        int jdbcIndex = 1;
+        for (List<?> params : chunk) {
+          for (Object param : params) {
+            fillStatementParam(statement, chunkSql, param, jdbcIndex++);
+          }
+        }
+        statement.executeUpdate();
+        timer.executed();
+        
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+          return generatedKeys.append(keys);
+        }
+      });
+    } else {
+      withStatement(c, sql, Statement.RETURN_GENERATED_KEYS, timer, statement -> {
+        for (List<?> params : chunk) {
+          this.fillStatementParams(statement, sql, params);
+          statement.addBatch();
+        }
+        statement.executeBatch();
+        timer.executed();
+        
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+          return generatedKeys.append(keys);
+        }
+      });
+    }
+    
+    timer.batchSize(chunk.size());
+    if (commit) {
+      c.commit();
+    }
+    LOG.debug("BATCH: inserted chunk of {} rows", chunk.size());
+  }
+  
+  private BatchResult executeChunk(Connection c, PreparedStatement statement, BatchResult result, boolean commit, QueryTimer timer) throws SQLException {
+    int[] updateCounts = statement.executeBatch();
+    timer.batched(updateCounts);
+    if (commit) {
+      c.commit();
+    }
+    timer.executed();
+    LOG.debug("BATCH: executed chunk of {} rows", updateCounts.length);
+    
+    return result.add(updateCounts);
+  }
+  
+  private <T> T handle(ResultSetHandler<T> resultSetHandler, ResultSet rs) throws Exception {
+    Converters previous = ConvertersScope.enter(converters);
+    try {
+      return resultSetHandler.handle(rs);
+    } finally {
+      ConvertersScope.exit(previous);
+    }
+  }
+
+  private <T> T withStatement(Connection c, String sql, int autoGeneratedKeys, QueryTimer timer, FunctionWithException<PreparedStatement, T> action) throws Exception {
+    PreparedStatement statement = prepare(c, sql, autoGeneratedKeys);
+    timer.prepared();
+    boolean reusable = false;
+    try {
+      T result = action.apply(statement);
+      reusable = true;
+      
+      return result;
+    } finally {
+      release(sql, autoGeneratedKeys, statement, reusable);
+    }
+  }
+  
+  private PreparedStatement prepare(Connection c, String sql, int autoGeneratedKeys) throws SQLException {
+    if (statementCache != null) {
+      PreparedStatement cached = statementCache.take(sql, autoGeneratedKeys, statementOptions);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    
+    PreparedStatement statement = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? c.prepareStatement(sql, autoGeneratedKeys) : c.prepareStatement(sql);
+    try {
+      statementOptions.applyTo(statement);
+    } catch (SQLException e) {
+      statement.close();
+      throw e;
+    }
+    
+    return statement;
+  }
+  
+  /**
+   * Returns the statement to the cache if it was used successfully, otherwise closes it.
+   */
+  private void release(String sql, int autoGeneratedKeys, PreparedStatement statement, boolean reusable) throws SQLException {
+    if (statementCache != null && reusable) {
+      statementCache.put(sql, autoGeneratedKeys, statementOptions, statement);
+    } else {
+      statement.close();
+    }
+  }
+  
+  private void release(Connection c, String sql, int autoGeneratedKeys, PreparedStatement statement, ResultSet rs, boolean reusable) {
+    try {
+      if (rs != null) {
+        rs.close();
+      }
+    } catch (Exception e) {
+      LOG.error("ResultSet could not be closed", e);
+      reusable = false;
+    }
+    
+    try {
+      if (statement != null) {
+        release(sql, autoGeneratedKeys, statement, reusable);
+      }
+    } catch (Exception e) {
+      LOG.error("Statement could not be closed", e);
+    }
+    
+    try {
+      if (c != null) {
+        finalizer.accept(c);
+      }
+    } catch (Exception e) {
+      LOG.error("Connection could not be closed", e);
     }
   }
   
-  private <T> T run(FunctionWithException<Connection, T> consumer) {
+  private <T> T run(QueryTimer timer, FunctionWithException<Connection, T> consumer) {
     Connection c = null;
     try {
       c = connection.get();
+      timer.acquired();
       return consumer.apply(c);
     } catch (Exception e) {
+      timer.failed(e);
       throw propagate(e);
     } finally {
       try {
@@ -358,6 +1054,7 @@ public class QueryRunner {
       } catch (Exception e) {
         LOG.error("Connection could not be closed", e);
       }
+      timer.released();
     }
   }
 
@@ -0,0 +1,153 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.ResultSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.moandjiezana.uncommons.dbutils.QueryEvent.Operation;
+
+/**
+ * Measures the phases of a single query and reports them to a {@link QueryListener}. Each mark records the time elapsed since the previous one.
+ *
+ * When there is no listener, {@link #DISABLED} is used and every method returns immediately, without reading the clock.
+ *
+ * Not threadsafe.
+ */
+final class QueryTimer {
+
+  static final QueryTimer DISABLED = new QueryTimer(null, null, null);
+
+  private static final Logger LOG = LoggerFactory.getLogger(QueryTimer.class);
+
+  static QueryTimer start(QueryListener listener, Operation operation, String sql) {
+    return listener == null ? DISABLED : new QueryTimer(listener, operation, sql);
+  }
+
+  private final QueryListener listener;
+  private final Operation operation;
+  private final String sql;
+  private long last;
+  private long acquire;
+  private long prepare;
+  private long execute;
+  private long map;
+  private long rows = -1;
+  private long batchSize;
+  private Throwable error;
+  private CountingResultSet counting;
+
+  void acquired() {
+    if (listener != null) {
+      acquire += lap();
+    }
+  }
+
+  void prepared() {
+    if (listener != null) {
+      prepare += lap();
+    }
+  }
+
+  void executed() {
+    if (listener != null) {
+      execute += lap();
+    }
+  }
+
+  void mapped() {
+    if (listener != null) {
+      map += lap();
+    }
+  }
+
+  void rows(long count) {
+    if (listener != null) {
+      rows = rows < 0 ? count : rows + count;
+    }
+  }
+
+  void batchSize(long size) {
+    if (listener != null) {
+      batchSize += size;
+    }
+  }
+
+  /**
+   * Adds a batch's size and the sum of its known update counts.
+   */
+  void batched(int[] updateCounts) {
+    if (listener == null) {
+      return;
+    }
+
+    batchSize += updateCounts.length;
+    long updated = 0;
+    for (int count : updateCounts) {
+      if (count > 0) {
+        updated += count;
+      }
+    }
+    rows(updated);
+  }
+
+  void failed(Throwable e) {
+    if (listener != null && error == null) {
+      error = e;
+    }
+  }
+
+  /**
+   * @return a {@link ResultSet} that counts the rows read through it, or rs itself when disabled
+   */
+  ResultSet count(ResultSet rs) {
+    if (listener == null) {
+      return rs;
+    }
+
+    countRows();
+    counting = new CountingResultSet(rs);
+
+    return counting;
+  }
+
+  /**
+   * Records the release phase and notifies the listener.
+   */
+  void released() {
+    if (listener == null) {
+      return;
+    }
+
+    long release = lap();
+    countRows();
+
+    try {
+      listener.onQuery(new QueryEvent(operation, sql, acquire, prepare, execute, map, release, rows, batchSize, error));
+    } catch (Exception e) {
+      LOG.error("QueryListener failed", e);
+    }
+  }
+
+  private void countRows() {
+    if (counting != null) {
+      rows(counting.getRows());
+      counting = null;
+    }
+  }
+
+  private long lap() {
+    long now = System.nanoTime();
+    long elapsed = now - last;
+    last = now;
+
+    return elapsed;
+  }
+
+  private QueryTimer(QueryListener listener, Operation operation, String sql) {
+    this.listener = listener;
+    this.operation = operation;
+    this.sql = sql;
+    this.last = listener != null ? System.nanoTime() : 0;
+  }
+}
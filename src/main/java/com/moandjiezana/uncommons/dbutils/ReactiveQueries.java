@@ -0,0 +1,47 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.util.concurrent.Executor;
+
+import org.reactivestreams.Publisher;
+
+/**
+ * <p>Adapts {@link AsyncQueryRunner} to Reactive Streams. Requires <code>org.reactivestreams:reactive-streams</code> on the classpath,
+ * which is only needed by code that uses this class.</p>
+ * 
+ * <pre><code>
+ * Publisher&lt;Person&gt; persons = ReactiveQueries.publish(asyncQueryRunner, "SELECT * FROM persons", fieldsProcessor(Person.class));
+ * </code></pre>
+ */
+public final class ReactiveQueries {
+  
+  /**
+   * <p>Streams the rows of a SELECT to a Reactive Streams {@link org.reactivestreams.Subscriber}, without holding the whole {@link java.sql.ResultSet} in memory.</p>
+   * 
+   * <p>Each {@link org.reactivestreams.Subscriber} runs its own query, which starts when it first requests rows. A row is only read once it has been requested, and
+   * the {@link java.sql.Connection} is released when all rows have been emitted, when an error occurs or when the {@link org.reactivestreams.Subscription} is cancelled.
+   * Rows are emitted from the AsyncQueryRunner's {@link Executor}, which is used again each time more rows are requested.</p>
+   * 
+   * <p>With {@link AsyncQueryRunner#withAdmissionControl(int, int, AsyncQueryRunner.OverflowPolicy)}, the query waits for its turn like any other
+   * and counts as in flight until the {@link java.sql.Connection} is released.</p>
+   * 
+   * @param asyncQueryRunner
+   *    runs the query
+   * @param sql
+   *    the SELECT to execute
+   * @param rowProcessor
+   *    converts each row
+   * @param params
+   *    values for the SQL placeholders
+   * @param <T>
+   *    the type each row is converted to
+   * @return a cold {@link Publisher}
+   * @see QueryRunner#stream(String, RowProcessor, Object...)
+   */
+  public static <T> Publisher<T> publish(AsyncQueryRunner asyncQueryRunner, String sql, RowProcessor<T> rowProcessor, Object... params) {
+    QueryRunner queryRunner = asyncQueryRunner.queryRunner();
+    
+    return new RowPublisher<>(() -> queryRunner.stream(sql, rowProcessor, params), asyncQueryRunner.executor(), asyncQueryRunner.admissionController());
+  }
+  
+  private ReactiveQueries() {}
+}
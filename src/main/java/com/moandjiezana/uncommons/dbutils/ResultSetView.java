@@ -22,8 +22,8 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 class ResultSetView implements ResultSet {
@@ -113,7 +113,7 @@ class ResultSetView implements ResultSet {
 
     @Override
     public String getTableName(int column) throws SQLException {
-      return rsmd.getTableName(column);
+      return rsmd.getTableName(mapping[column]);
     }
 
     @Override
@@ -155,28 +155,45 @@ class ResultSetView implements ResultSet {
   private final ResultSet rs;
   private final String table;
   private final int[] mapping;
-  private final Map<String, Integer> labelMapping = new HashMap<>();
+  private final String[] labels;
+  private final String[] indexKeys;
+  private final int[] indexColumns;
   private final ResultSetMetadata rsmd;
 
   public ResultSetView(ResultSet rs, String table) {
     this.rs = rs;
     this.table = table;
     List<Integer> tempMapping = new ArrayList<>();
+    List<String> tempLabels = new ArrayList<>();
     tempMapping.add(-1);
+    tempLabels.add(null);
     try {
-      for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
-        if (rs.getMetaData().getTableName(i).equalsIgnoreCase(table)) {
+      ResultSetMetaData metaData = rs.getMetaData();
+      for (int i = 1; i <= metaData.getColumnCount(); i++) {
+        if (metaData.getTableName(i).equalsIgnoreCase(table)) {
           tempMapping.add(i);
-          labelMapping.put(rs.getMetaData().getColumnLabel(i).toLowerCase(), i);
+          tempLabels.add(metaData.getColumnLabel(i));
         }
       }
       this.mapping = tempMapping.stream().mapToInt(Integer::intValue).toArray();
-      this.rsmd = new ResultSetView.ResultSetMetadata(rs.getMetaData());
+      this.labels = tempLabels.toArray(new String[0]);
+      int size = Integer.highestOneBit(labels.length * 4) << 1;
+      this.indexKeys = new String[size];
+      this.indexColumns = new int[size];
+      for (int i = 1; i < labels.length; i++) {
+        index(labels[i], i);
+        index(labels[i].toLowerCase(Locale.ROOT), i);
+      }
+      this.rsmd = new ResultSetView.ResultSetMetadata(metaData);
     } catch (SQLException e) {
       throw new RuntimeException(e);
     }
   }
 
+  boolean isViewOf(ResultSet resultSet) {
+    return rs == resultSet;
+  }
+
   @Override
   public ResultSetMetaData getMetaData() throws SQLException {
     return rsmd;
@@ -291,84 +308,84 @@ class ResultSetView implements ResultSet {
 
   @Override
   public String getString(String columnLabel) throws SQLException {
-    return rs.getString(findColumn(columnLabel));
+    return rs.getString(column(columnLabel));
   }
 
   @Override
   public boolean getBoolean(String columnLabel) throws SQLException {
-    return rs.getBoolean(findColumn(columnLabel));
+    return rs.getBoolean(column(columnLabel));
   }
 
   @Override
   public byte getByte(String columnLabel) throws SQLException {
-    return rs.getByte(findColumn(columnLabel));
+    return rs.getByte(column(columnLabel));
   }
 
   @Override
   public short getShort(String columnLabel) throws SQLException {
-    return rs.getShort(findColumn(columnLabel));
+    return rs.getShort(column(columnLabel));
   }
 
   @Override
   public int getInt(String columnLabel) throws SQLException {
-    return rs.getInt(findColumn(columnLabel));
+    return rs.getInt(column(columnLabel));
   }
 
   @Override
   public long getLong(String columnLabel) throws SQLException {
-    return rs.getLong(findColumn(columnLabel));
+    return rs.getLong(column(columnLabel));
   }
 
   @Override
   public float getFloat(String columnLabel) throws SQLException {
-    return rs.getFloat(findColumn(columnLabel));
+    return rs.getFloat(column(columnLabel));
   }
 
   @Override
   public double getDouble(String columnLabel) throws SQLException {
-    return rs.getDouble(findColumn(columnLabel));
+    return rs.getDouble(column(columnLabel));
   }
 
   @Override
   @Deprecated
   public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
-    return rs.getBigDecimal(findColumn(columnLabel), scale);
+    return rs.getBigDecimal(column(columnLabel), scale);
   }
 
   @Override
   public byte[] getBytes(String columnLabel) throws SQLException {
-    return rs.getBytes(findColumn(columnLabel));
+    return rs.getBytes(column(columnLabel));
   }
 
   @Override
   public Date getDate(String columnLabel) throws SQLException {
-    return rs.getDate(findColumn(columnLabel));
+    return rs.getDate(column(columnLabel));
   }
 
   @Override
   public Time getTime(String columnLabel) throws SQLException {
-    return rs.getTime(findColumn(columnLabel));
+    return rs.getTime(column(columnLabel));
   }
 
   @Override
   public Timestamp getTimestamp(String columnLabel) throws SQLException {
-    return rs.getTimestamp(findColumn(columnLabel));
+    return rs.getTimestamp(column(columnLabel));
   }
 
   @Override
   public InputStream getAsciiStream(String columnLabel) throws SQLException {
-    return rs.getAsciiStream(findColumn(columnLabel));
+    return rs.getAsciiStream(column(columnLabel));
   }
 
   @Override
   @Deprecated
   public InputStream getUnicodeStream(String columnLabel) throws SQLException {
-    return rs.getUnicodeStream(findColumn(columnLabel));
+    return rs.getUnicodeStream(column(columnLabel));
   }
 
   @Override
   public InputStream getBinaryStream(String columnLabel) throws SQLException {
-    return rs.getBinaryStream(findColumn(columnLabel));
+    return rs.getBinaryStream(column(columnLabel));
   }
 
   @Override
@@ -393,16 +410,31 @@ class ResultSetView implements ResultSet {
 
   @Override
   public Object getObject(String columnLabel) throws SQLException {
-    return rs.getObject(findColumn(columnLabel));
+    return rs.getObject(column(columnLabel));
   }
 
+  /**
+   * Looks the label up as given, which finds it if it is in the case the driver reported or in lower case,
+   * then compares it to each label ignoring case. Neither step allocates.
+   *
+   * @return the index of the column in this view, not in the underlying {@link ResultSet}
+   */
   @Override
   public int findColumn(String columnLabel) throws SQLException {
-    if (!labelMapping.containsKey(columnLabel.toLowerCase())) {
-      throw new SQLException("Could not find column " + columnLabel + " in table " + table);
+    int mask = indexKeys.length - 1;
+    for (int slot = columnLabel.hashCode() & mask; indexKeys[slot] != null; slot = (slot + 1) & mask) {
+      if (indexKeys[slot].equals(columnLabel)) {
+        return indexColumns[slot];
+      }
     }
-    
-    return labelMapping.get(columnLabel);
+
+    for (int i = 1; i < labels.length; i++) {
+      if (labels[i].equalsIgnoreCase(columnLabel)) {
+        return i;
+      }
+    }
+
+    throw new SQLException("Could not find column " + columnLabel + " in table " + table);
   }
 
   @Override
@@ -412,7 +444,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public Reader getCharacterStream(String columnLabel) throws SQLException {
-    return rs.getCharacterStream(findColumn(columnLabel));
+    return rs.getCharacterStream(column(columnLabel));
   }
 
   @Override
@@ -422,7 +454,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
-    return rs.getBigDecimal(findColumn(columnLabel));
+    return rs.getBigDecimal(column(columnLabel));
   }
 
   @Override
@@ -627,97 +659,97 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateNull(String columnLabel) throws SQLException {
-    rs.updateNull(findColumn(columnLabel));
+    rs.updateNull(column(columnLabel));
   }
 
   @Override
   public void updateBoolean(String columnLabel, boolean x) throws SQLException {
-    rs.updateBoolean(findColumn(columnLabel), x);
+    rs.updateBoolean(column(columnLabel), x);
   }
 
   @Override
   public void updateByte(String columnLabel, byte x) throws SQLException {
-    rs.updateByte(findColumn(columnLabel), x);
+    rs.updateByte(column(columnLabel), x);
   }
 
   @Override
   public void updateShort(String columnLabel, short x) throws SQLException {
-    rs.updateShort(findColumn(columnLabel), x);
+    rs.updateShort(column(columnLabel), x);
   }
 
   @Override
   public void updateInt(String columnLabel, int x) throws SQLException {
-    rs.updateInt(findColumn(columnLabel), x);
+    rs.updateInt(column(columnLabel), x);
   }
 
   @Override
   public void updateLong(String columnLabel, long x) throws SQLException {
-    rs.updateLong(findColumn(columnLabel), x);
+    rs.updateLong(column(columnLabel), x);
   }
 
   @Override
   public void updateFloat(String columnLabel, float x) throws SQLException {
-    rs.updateFloat(findColumn(columnLabel), x);
+    rs.updateFloat(column(columnLabel), x);
   }
 
   @Override
   public void updateDouble(String columnLabel, double x) throws SQLException {
-    rs.updateDouble(findColumn(columnLabel), x);
+    rs.updateDouble(column(columnLabel), x);
   }
 
   @Override
   public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
-    rs.updateBigDecimal(findColumn(columnLabel), x);
+    rs.updateBigDecimal(column(columnLabel), x);
   }
 
   @Override
   public void updateString(String columnLabel, String x) throws SQLException {
-    rs.updateString(findColumn(columnLabel), x);
+    rs.updateString(column(columnLabel), x);
   }
 
   @Override
   public void updateBytes(String columnLabel, byte[] x) throws SQLException {
-    rs.updateBytes(findColumn(columnLabel), x);
+    rs.updateBytes(column(columnLabel), x);
   }
 
   @Override
   public void updateDate(String columnLabel, Date x) throws SQLException {
-    rs.updateDate(findColumn(columnLabel), x);
+    rs.updateDate(column(columnLabel), x);
   }
 
   @Override
   public void updateTime(String columnLabel, Time x) throws SQLException {
-    rs.updateTime(findColumn(columnLabel), x);
+    rs.updateTime(column(columnLabel), x);
   }
 
   @Override
   public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
-    rs.updateTimestamp(findColumn(columnLabel), x);
+    rs.updateTimestamp(column(columnLabel), x);
   }
 
   @Override
   public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
-    rs.updateAsciiStream(findColumn(columnLabel), x, length);
+    rs.updateAsciiStream(column(columnLabel), x, length);
   }
 
   @Override
   public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
-    rs.updateBinaryStream(findColumn(columnLabel), x, length);
+    rs.updateBinaryStream(column(columnLabel), x, length);
   }
 
   @Override
   public void updateCharacterStream(String columnLabel, Reader reader, int length) throws SQLException {
-    rs.updateCharacterStream(findColumn(columnLabel), reader, length);
+    rs.updateCharacterStream(column(columnLabel), reader, length);
   }
 
   @Override
   public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
-    rs.updateObject(findColumn(columnLabel), x, scaleOrLength);
+    rs.updateObject(column(columnLabel), x, scaleOrLength);
   }
 
   @Override
   public void updateObject(String columnLabel, Object x) throws SQLException {
-    rs.updateObject(findColumn(columnLabel), x);
+    rs.updateObject(column(columnLabel), x);
   }
 
   @Override
@@ -787,27 +819,27 @@ class ResultSetView implements ResultSet {
 
   @Override
   public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
-    return rs.getObject(findColumn(columnLabel), map);
+    return rs.getObject(column(columnLabel), map);
   }
 
   @Override
   public Ref getRef(String columnLabel) throws SQLException {
-    return rs.getRef(findColumn(columnLabel));
+    return rs.getRef(column(columnLabel));
   }
 
   @Override
   public Blob getBlob(String columnLabel) throws SQLException {
-    return rs.getBlob(findColumn(columnLabel));
+    return rs.getBlob(column(columnLabel));
   }
 
   @Override
   public Clob getClob(String columnLabel) throws SQLException {
-    return rs.getClob(findColumn(columnLabel));
+    return rs.getClob(column(columnLabel));
   }
 
   @Override
   public Array getArray(String columnLabel) throws SQLException {
-    return rs.getArray(findColumn(columnLabel));
+    return rs.getArray(column(columnLabel));
   }
 
   @Override
@@ -817,7 +849,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public Date getDate(String columnLabel, Calendar cal) throws SQLException {
-    return rs.getDate(findColumn(columnLabel), cal);
+    return rs.getDate(column(columnLabel), cal);
   }
 
   @Override
@@ -827,7 +859,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public Time getTime(String columnLabel, Calendar cal) throws SQLException {
-    return rs.getTime(findColumn(columnLabel), cal);
+    return rs.getTime(column(columnLabel), cal);
   }
 
   @Override
@@ -837,7 +869,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
-    return rs.getTimestamp(findColumn(columnLabel), cal);
+    return rs.getTimestamp(column(columnLabel), cal);
   }
 
   @Override
@@ -847,7 +879,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public URL getURL(String columnLabel) throws SQLException {
-    return rs.getURL(findColumn(columnLabel));
+    return rs.getURL(column(columnLabel));
   }
 
   @Override
@@ -857,7 +889,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateRef(String columnLabel, Ref x) throws SQLException {
-    rs.updateRef(findColumn(columnLabel), x);
+    rs.updateRef(column(columnLabel), x);
   }
 
   @Override
@@ -867,7 +899,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateBlob(String columnLabel, Blob x) throws SQLException {
-    rs.updateBlob(findColumn(columnLabel), x);
+    rs.updateBlob(column(columnLabel), x);
   }
 
   @Override
@@ -877,7 +909,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateClob(String columnLabel, Clob x) throws SQLException {
-    rs.updateClob(findColumn(columnLabel), x);
+    rs.updateClob(column(columnLabel), x);
   }
 
   @Override
@@ -887,7 +919,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateArray(String columnLabel, Array x) throws SQLException {
-    rs.updateArray(findColumn(columnLabel), x);
+    rs.updateArray(column(columnLabel), x);
   }
 
   @Override
@@ -897,7 +929,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public RowId getRowId(String columnLabel) throws SQLException {
-    return rs.getRowId(findColumn(columnLabel));
+    return rs.getRowId(column(columnLabel));
   }
 
   @Override
@@ -907,7 +939,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateRowId(String columnLabel, RowId x) throws SQLException {
-    rs.updateRowId(findColumn(columnLabel), x);
+    rs.updateRowId(column(columnLabel), x);
   }
 
   @Override
@@ -927,7 +959,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateNString(String columnLabel, String nString) throws SQLException {
-    rs.updateNString(findColumn(columnLabel), nString);
+    rs.updateNString(column(columnLabel), nString);
   }
 
   @Override
@@ -937,7 +969,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
-    rs.updateNClob(findColumn(columnLabel), nClob);
+    rs.updateNClob(column(columnLabel), nClob);
   }
 
   @Override
@@ -947,7 +979,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public NClob getNClob(String columnLabel) throws SQLException {
-    return rs.getNClob(findColumn(columnLabel));
+    return rs.getNClob(column(columnLabel));
   }
 
   @Override
@@ -957,7 +989,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public SQLXML getSQLXML(String columnLabel) throws SQLException {
-    return rs.getSQLXML(findColumn(columnLabel));
+    return rs.getSQLXML(column(columnLabel));
   }
 
   @Override
@@ -967,7 +999,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
-    rs.updateSQLXML(findColumn(columnLabel), xmlObject);
+    rs.updateSQLXML(column(columnLabel), xmlObject);
   }
 
   @Override
@@ -977,7 +1009,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public String getNString(String columnLabel) throws SQLException {
-    return rs.getNString(findColumn(columnLabel));
+    return rs.getNString(column(columnLabel));
   }
 
   @Override
@@ -987,7 +1019,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public Reader getNCharacterStream(String columnLabel) throws SQLException {
-    return rs.getNCharacterStream(findColumn(columnLabel));
+    return rs.getNCharacterStream(column(columnLabel));
   }
 
   @Override
@@ -997,7 +1029,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
-    rs.updateNCharacterStream(findColumn(columnLabel), reader, length);
+    rs.updateNCharacterStream(column(columnLabel), reader, length);
   }
 
   @Override
@@ -1017,17 +1049,17 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
-    rs.updateAsciiStream(findColumn(columnLabel), x, length);
+    rs.updateAsciiStream(column(columnLabel), x, length);
   }
 
   @Override
   public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
-    rs.updateBinaryStream(findColumn(columnLabel), x, length);
+    rs.updateBinaryStream(column(columnLabel), x, length);
   }
 
   @Override
   public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
-    rs.updateCharacterStream(findColumn(columnLabel), reader, length);
+    rs.updateCharacterStream(column(columnLabel), reader, length);
   }
 
   @Override
@@ -1037,7 +1069,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
-    rs.updateBlob(findColumn(columnLabel), inputStream, length);
+    rs.updateBlob(column(columnLabel), inputStream, length);
   }
 
   @Override
@@ -1047,7 +1079,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
-    rs.updateClob(findColumn(columnLabel), reader, length);
+    rs.updateClob(column(columnLabel), reader, length);
   }
 
   @Override
@@ -1057,7 +1089,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
-    rs.updateNClob(findColumn(columnLabel), reader, length);
+    rs.updateNClob(column(columnLabel), reader, length);
   }
 
   @Override
@@ -1067,7 +1099,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
-    rs.updateNCharacterStream(findColumn(columnLabel), reader);
+    rs.updateNCharacterStream(column(columnLabel), reader);
   }
 
   @Override
@@ -1087,17 +1119,17 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
-    rs.updateAsciiStream(findColumn(columnLabel), x);
+    rs.updateAsciiStream(column(columnLabel), x);
   }
 
   @Override
   public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
-    rs.updateBinaryStream(findColumn(columnLabel), x);
+    rs.updateBinaryStream(column(columnLabel), x);
   }
 
   @Override
   public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
-    rs.updateCharacterStream(findColumn(columnLabel), reader);
+    rs.updateCharacterStream(column(columnLabel), reader);
   }
 
   @Override
@@ -1107,7 +1139,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
-    rs.updateBlob(findColumn(columnLabel), inputStream);
+    rs.updateBlob(column(columnLabel), inputStream);
   }
 
   @Override
@@ -1117,7 +1149,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateClob(String columnLabel, Reader reader) throws SQLException {
-    rs.updateClob(findColumn(columnLabel), reader);
+    rs.updateClob(column(columnLabel), reader);
   }
 
   @Override
@@ -1127,7 +1159,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateNClob(String columnLabel, Reader reader) throws SQLException {
-    rs.updateNClob(findColumn(columnLabel), reader);
+    rs.updateNClob(column(columnLabel), reader);
   }
 
   @Override
@@ -1137,7 +1169,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
-    return rs.getObject(findColumn(columnLabel), type);
+    return rs.getObject(column(columnLabel), type);
   }
 
   @Override
@@ -1147,7 +1179,7 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateObject(String columnLabel, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
-    rs.updateObject(findColumn(columnLabel), x, targetSqlType, scaleOrLength);
+    rs.updateObject(column(columnLabel), x, targetSqlType, scaleOrLength);
   }
 
   @Override
@@ -1157,6 +1189,26 @@ class ResultSetView implements ResultSet {
 
   @Override
   public void updateObject(String columnLabel, Object x, SQLType targetSqlType) throws SQLException {
-    rs.updateObject(findColumn(columnLabel), x, targetSqlType);
+    rs.updateObject(column(columnLabel), x, targetSqlType);
+  }
+
+  private int column(String columnLabel) throws SQLException {
+    return mapping[findColumn(columnLabel)];
+  }
+
+  /**
+   * Open addressing with linear probing. The first column with a given label wins, as in {@link ResultSet#findColumn(String)}.
+   */
+  private void index(String key, int column) {
+    int mask = indexKeys.length - 1;
+    int slot = key.hashCode() & mask;
+    while (indexKeys[slot] != null) {
+      if (indexKeys[slot].equals(key)) {
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    indexKeys[slot] = key;
+    indexColumns[slot] = column;
   }
 }
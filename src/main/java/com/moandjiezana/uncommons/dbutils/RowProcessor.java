@@ -10,6 +10,7 @@ import java.sql.ResultSet;
 import java.util.Optional;
 import java.util.function.Supplier;
 
+import com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.Access;
 import com.moandjiezana.uncommons.dbutils.functions.BiConsumerWithException;
 
 /**
@@ -52,12 +53,14 @@ public interface RowProcessor<T> {
   }
 
   /**
+   * The table's columns are found once per {@link ResultSet}, not once per row.
+   *
    * @param table
    *    the table to take columns from
    * @return a new RowProcessor instance that restricts the {@link ResultSet} to the given table
    */
   default RowProcessor<T> fromTable(String table) {
-    return rs -> handle(new ResultSetView(rs, table));
+    return new TableRowProcessor<>(this, table);
   }
   
   /**
@@ -94,6 +97,21 @@ public interface RowProcessor<T> {
   static <T> RowProcessor<T> firstColumn(Class<T> objectClass) {
     return ColumnRowProcessor.column(1, objectClass);
   }
+  
+  /**
+   * @param objectClass
+   *    the class to convert the column to
+   * @param converters
+   *    performs the conversion
+   * @param <T>
+   *    the type to convert the column to
+   * @return
+   *    {@link RowProcessor} that gets the first column of the row
+   * @see ColumnRowProcessor
+   */
+  static <T> RowProcessor<T> firstColumn(Class<T> objectClass, Converters converters) {
+    return ColumnRowProcessor.column(1, objectClass, converters);
+  }
 
   /**
    * @param rowProcessor
@@ -115,7 +133,20 @@ public interface RowProcessor<T> {
    * @return A RowProcessor that uses field access to populate instances with values from columns with the same name
    */
   static <T> RowProcessor<T> fieldsProcessor(Class<T> objectClass) {
-    return new ObjectRowProcessor<T>(noArgsCreator(objectClass), matching(fields(objectClass)));
+    return fieldsProcessor(objectClass, Converters.INSTANCE);
+  }
+  
+  /**
+   * @param objectClass
+   *    The class to map the rows to
+   * @param converters
+   *    converts column values to field types
+   * @param <T>
+   *    The type of the mapped row
+   * @return A RowProcessor that uses field access to populate instances with values from columns with the same name
+   */
+  static <T> RowProcessor<T> fieldsProcessor(Class<T> objectClass, Converters converters) {
+    return new ObjectRowProcessor<T>(noArgsCreator(objectClass), matching(fields(objectClass)), Access.METHOD_HANDLES, converters);
   }
 
   /**
@@ -126,6 +157,19 @@ public interface RowProcessor<T> {
    * @return A Row Processor that uses JavaBean conventions to create and populate instances of T
    */
   static <T> RowProcessor<T> beanProcessor(Class<T> beanClass) {
-    return new ObjectRowProcessor<T>(beanInstanceCreator(beanClass), matching(properties(beanClass)));
+    return beanProcessor(beanClass, Converters.INSTANCE);
+  }
+  
+  /**
+   * @param beanClass
+   *    The class to map the rows to
+   * @param converters
+   *    converts column values to constructor argument and property types
+   * @param <T>
+   *    The type of the mapped row
+   * @return A Row Processor that uses JavaBean conventions to create and populate instances of T
+   */
+  static <T> RowProcessor<T> beanProcessor(Class<T> beanClass, Converters converters) {
+    return new ObjectRowProcessor<T>(beanInstanceCreator(beanClass, Access.METHOD_HANDLES, converters), matching(properties(beanClass)), Access.METHOD_HANDLES, converters);
   }
 }
@@ -0,0 +1,194 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Emits the rows of a query, reading the next row only when the {@link Subscriber} has requested it.
+ * 
+ * Each {@link Subscriber} gets its own query, which is started on the {@link Executor} when it first requests rows.
+ * Signals to a {@link Subscriber} are serialized and always sent from the {@link Executor}.
+ * 
+ * With an {@link AdmissionController}, a query only starts once it has been admitted, and keeps its slot until its rows have been emitted, it fails or it is cancelled.
+ */
+class RowPublisher<T> implements Publisher<T> {
+  
+  private final Supplier<Stream<T>> query;
+  private final Executor executor;
+  private final AdmissionController admissionController;
+  
+  /**
+   * @param admissionController
+   *    admits each query. Can be null.
+   */
+  RowPublisher(Supplier<Stream<T>> query, Executor executor, AdmissionController admissionController) {
+    this.query = query;
+    this.executor = executor;
+    this.admissionController = admissionController;
+  }
+  
+  @Override
+  public void subscribe(Subscriber<? super T> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber");
+    
+    subscriber.onSubscribe(new RowSubscription(subscriber));
+  }
+  
+  private class RowSubscription implements Subscription, Runnable {
+    private final Subscriber<? super T> subscriber;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+    private volatile Throwable admissionError;
+    private volatile boolean closed;
+    private final AtomicReference<Runnable> slot = new AtomicReference<>();
+    private boolean admitting;
+    private Stream<T> rows;
+    private Iterator<T> iterator;
+    private boolean done;
+    
+    RowSubscription(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+    
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("Rule 3.9: request must be positive, but was " + n);
+      } else {
+        demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+      }
+      
+      schedule();
+    }
+    
+    @Override
+    public void cancel() {
+      cancelled = true;
+      schedule();
+    }
+    
+    private void schedule() {
+      if (pending.getAndIncrement() == 0) {
+        try {
+          executor.execute(this);
+        } catch (RuntimeException e) {
+          cancelled = true;
+          close();
+          subscriber.onError(e);
+        }
+      }
+    }
+    
+    @Override
+    public void run() {
+      int missed = 1;
+      
+      while (!done) {
+        if (cancelled) {
+          close();
+          return;
+        }
+        
+        if (invalidRequest != null) {
+          close();
+          subscriber.onError(invalidRequest);
+          return;
+        }
+        
+        if (admissionError != null) {
+          close();
+          subscriber.onError(admissionError);
+          return;
+        }
+        
+        long requested = demand.get();
+        long emitted = 0;
+        try {
+          if (iterator == null && requested > 0) {
+            if (admissionController != null && slot.get() == null) {
+              admit();
+              requested = 0;
+            } else {
+              rows = query.get();
+              iterator = rows.iterator();
+            }
+          }
+          
+          while (emitted < requested && !cancelled) {
+            if (!iterator.hasNext()) {
+              close();
+              subscriber.onComplete();
+              return;
+            }
+            
+            subscriber.onNext(iterator.next());
+            emitted++;
+          }
+        } catch (RuntimeException e) {
+          close();
+          subscriber.onError(e);
+          return;
+        }
+        
+        if (emitted > 0 && requested != Long.MAX_VALUE) {
+          demand.addAndGet(-emitted);
+        }
+        
+        missed = pending.addAndGet(-missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+    
+    private void admit() {
+      if (admitting) {
+        return;
+      }
+      
+      admitting = true;
+      admissionController.admit(executor).whenComplete((release, e) -> {
+        if (e != null) {
+          admissionError = e;
+        } else {
+          slot.set(release);
+          if (closed) {
+            releaseSlot();
+          }
+        }
+        schedule();
+      });
+    }
+    
+    private void close() {
+      done = true;
+      closed = true;
+      try {
+        if (rows != null) {
+          rows.close();
+        }
+      } finally {
+        releaseSlot();
+      }
+    }
+    
+    private void releaseSlot() {
+      Runnable release = slot.getAndSet(null);
+      if (release != null) {
+        release.run();
+      }
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.Connection;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs tasks one at a time, in the order they were submitted. Each task is run by the {@link Executor} it was submitted with. Threadsafe.
+ */
+class SerialExecutor {
+  
+  private static final Map<Connection, SerialExecutor> LANES = new WeakHashMap<>();
+  
+  /**
+   * @return the lane shared by all tasks that use the given {@link Connection}. Lanes are discarded once their {@link Connection} is garbage collected.
+   */
+  static SerialExecutor lane(Connection connection) {
+    synchronized (LANES) {
+      return LANES.computeIfAbsent(connection, c -> new SerialExecutor());
+    }
+  }
+  
+  private final Queue<Task> tasks = new ArrayDeque<>();
+  private boolean active;
+  
+  /**
+   * @return an {@link Executor} that adds tasks to this lane and runs them on executor
+   */
+  Executor on(Executor executor) {
+    if (executor instanceof LaneExecutor) {
+      return on(((LaneExecutor) executor).executor);
+    }
+    
+    return new LaneExecutor(this, executor);
+  }
+  
+  void execute(Executor executor, Runnable command) {
+    Task first;
+    synchronized (this) {
+      tasks.add(new Task(executor, command));
+      if (active) {
+        return;
+      }
+      active = true;
+      first = tasks.poll();
+    }
+    
+    handOff(first);
+  }
+  
+  /**
+   * Hands task to its {@link Executor}. If the {@link Executor} runs it on the calling thread, the following task is handed off by this loop
+   * instead of by a nested call, so that direct and caller-runs {@link Executor}s do not grow the stack.
+   */
+  private void handOff(Task task) {
+    while (task != null) {
+      Worker worker = new Worker(task);
+      synchronized (this) {
+        worker.handingOff = Thread.currentThread();
+      }
+      
+      try {
+        task.executor.execute(worker);
+      } catch (RejectedExecutionException e) {
+        // the lane must keep moving, so a task that cannot be handed over runs on the thread that completed the previous one
+        worker.run();
+      }
+      
+      synchronized (this) {
+        worker.handingOff = null;
+        task = worker.inlineNext;
+      }
+    }
+  }
+  
+  /**
+   * @return the next task if the worker can run it itself, otherwise null
+   */
+  private Task next(Worker worker, Executor executor, boolean failed) {
+    Task next;
+    synchronized (this) {
+      next = tasks.poll();
+      if (next == null) {
+        active = false;
+        return null;
+      }
+      
+      if (!failed && next.executor == executor) {
+        return next;
+      }
+      
+      if (!failed && worker.handingOff == Thread.currentThread()) {
+        worker.inlineNext = next;
+        return null;
+      }
+    }
+    
+    handOff(next);
+    
+    return null;
+  }
+  
+  private static class Task {
+    final Executor executor;
+    final Runnable command;
+    
+    Task(Executor executor, Runnable command) {
+      this.executor = executor;
+      this.command = command;
+    }
+  }
+  
+  /**
+   * Runs tasks in a loop for as long as they were submitted with the same {@link Executor}.
+   */
+  private class Worker implements Runnable {
+    private final Task first;
+    private Thread handingOff;
+    private Task inlineNext;
+    
+    Worker(Task first) {
+      this.first = first;
+    }
+    
+    @Override
+    public void run() {
+      Task task = first;
+      while (task != null) {
+        boolean failed = true;
+        try {
+          task.command.run();
+          failed = false;
+        } finally {
+          task = next(this, task.executor, failed);
+        }
+      }
+    }
+  }
+  
+  private static class LaneExecutor implements Executor {
+    private final SerialExecutor lane;
+    private final Executor executor;
+    
+    LaneExecutor(SerialExecutor lane, Executor executor) {
+      this.lane = lane;
+      this.executor = executor;
+    }
+    
+    @Override
+    public void execute(Runnable command) {
+      lane.execute(executor, command);
+    }
+  }
+}
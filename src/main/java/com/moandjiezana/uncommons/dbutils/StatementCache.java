@@ -0,0 +1,131 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A least-recently-used pool of {@link PreparedStatement}s belonging to a single {@link java.sql.Connection}.
+ *
+ * Statements are taken out of the cache while in use and put back afterwards, so a statement is never shared by two concurrent calls.
+ * When the cache is full, the least recently returned statement is closed.
+ */
+class StatementCache implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StatementCache.class);
+
+  private final int capacity;
+  private final LinkedHashMap<Key, PreparedStatement> statements;
+  private boolean closed;
+
+  StatementCache(int capacity) {
+    this.capacity = capacity;
+    this.statements = new LinkedHashMap<Key, PreparedStatement>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+        if (size() <= StatementCache.this.capacity) {
+          return false;
+        }
+
+        close(eldest.getValue());
+
+        return true;
+      }
+    };
+  }
+
+  int capacity() {
+    return capacity;
+  }
+
+  /**
+   * @return the cached statement, removed from the cache, or null if there is none
+   */
+  synchronized PreparedStatement take(String sql, int autoGeneratedKeys, StatementOptions statementOptions) {
+    return statements.remove(new Key(sql, autoGeneratedKeys, statementOptions));
+  }
+
+  /**
+   * Returns a statement to the cache once it is no longer in use. Closes it instead if an equivalent statement has been returned in the meantime or if the cache has been closed.
+   */
+  synchronized void put(String sql, int autoGeneratedKeys, StatementOptions statementOptions, PreparedStatement statement) {
+    if (closed) {
+      close(statement);
+      return;
+    }
+
+    try {
+      statement.clearParameters();
+    } catch (SQLException e) {
+      close(statement);
+      return;
+    }
+
+    PreparedStatement previous = statements.put(new Key(sql, autoGeneratedKeys, statementOptions), statement);
+    if (previous != null) {
+      close(previous);
+    }
+  }
+
+  synchronized int size() {
+    return statements.size();
+  }
+
+  /**
+   * Closes all the cached statements. Statements put back later on are closed immediately.
+   */
+  @Override
+  public void close() {
+    List<PreparedStatement> toClose;
+    synchronized (this) {
+      closed = true;
+      toClose = new ArrayList<>(statements.values());
+      statements.clear();
+    }
+
+    toClose.forEach(StatementCache::close);
+  }
+
+  private static void close(PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (Exception e) {
+      LOG.error("Statement could not be closed", e);
+    }
+  }
+
+  private static final class Key {
+    private final String sql;
+    private final int autoGeneratedKeys;
+    private final StatementOptions statementOptions;
+
+    Key(String sql, int autoGeneratedKeys, StatementOptions statementOptions) {
+      this.sql = sql;
+      this.autoGeneratedKeys = autoGeneratedKeys;
+      this.statementOptions = statementOptions;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+
+      Key other = (Key) obj;
+
+      return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql) && statementOptions.equals(other.statementOptions);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(sql, autoGeneratedKeys, statementOptions);
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+
+/**
+ * Tuning applied to every {@link Statement} a {@link QueryRunner} creates. Immutable.
+ * 
+ * <pre><code>
+ * QueryRunner reportQueryRunner = queryRunner.withStatementOptions(StatementOptions.DEFAULTS.fetchSize(5000).queryTimeout(60));
+ * </code></pre>
+ * 
+ * Values left at 0 are not set, so the driver's defaults apply.
+ * 
+ * @see QueryRunner#withStatementOptions(StatementOptions)
+ */
+public final class StatementOptions {
+  
+  /**
+   * Does not change any of the driver's defaults.
+   */
+  public static final StatementOptions DEFAULTS = new StatementOptions(0, 0, 0, 0);
+  
+  private final int fetchSize;
+  private final int fetchDirection;
+  private final int maxRows;
+  private final int queryTimeout;
+  
+  /**
+   * @param fetchSize
+   *    the number of rows to fetch from the database at a time
+   * @return a copy of this instance with the given fetch size
+   * @see Statement#setFetchSize(int)
+   */
+  public StatementOptions fetchSize(int fetchSize) {
+    return new StatementOptions(fetchSize, fetchDirection, maxRows, queryTimeout);
+  }
+  
+  /**
+   * @param fetchDirection
+   *    one of {@link ResultSet#FETCH_FORWARD}, {@link ResultSet#FETCH_REVERSE} or {@link ResultSet#FETCH_UNKNOWN}
+   * @return a copy of this instance with the given fetch direction
+   * @see Statement#setFetchDirection(int)
+   */
+  public StatementOptions fetchDirection(int fetchDirection) {
+    return new StatementOptions(fetchSize, fetchDirection, maxRows, queryTimeout);
+  }
+  
+  /**
+   * @param maxRows
+   *    the maximum number of rows a {@link ResultSet} can contain. Extra rows are silently dropped.
+   * @return a copy of this instance with the given row limit
+   * @see Statement#setMaxRows(int)
+   */
+  public StatementOptions maxRows(int maxRows) {
+    return new StatementOptions(fetchSize, fetchDirection, maxRows, queryTimeout);
+  }
+  
+  /**
+   * @param seconds
+   *    how long the driver waits for a statement to execute
+   * @return a copy of this instance with the given timeout
+   * @see Statement#setQueryTimeout(int)
+   */
+  public StatementOptions queryTimeout(int seconds) {
+    return new StatementOptions(fetchSize, fetchDirection, maxRows, seconds);
+  }
+  
+  public int getFetchSize() {
+    return fetchSize;
+  }
+  
+  public int getFetchDirection() {
+    return fetchDirection;
+  }
+  
+  public int getMaxRows() {
+    return maxRows;
+  }
+  
+  public int getQueryTimeout() {
+    return queryTimeout;
+  }
+  
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof StatementOptions)) {
+      return false;
+    }
+    
+    StatementOptions other = (StatementOptions) obj;
+    
+    return fetchSize == other.fetchSize && fetchDirection == other.fetchDirection && maxRows == other.maxRows && queryTimeout == other.queryTimeout;
+  }
+  
+  @Override
+  public int hashCode() {
+    return Objects.hash(fetchSize, fetchDirection, maxRows, queryTimeout);
+  }
+  
+  void applyTo(Statement statement) throws SQLException {
+    if (fetchSize > 0) {
+      statement.setFetchSize(fetchSize);
+    }
+    
+    if (fetchDirection != 0) {
+      statement.setFetchDirection(fetchDirection);
+    }
+    
+    if (maxRows > 0) {
+      statement.setMaxRows(maxRows);
+    }
+    
+    if (queryTimeout > 0) {
+      statement.setQueryTimeout(queryTimeout);
+    }
+  }
+  
+  private StatementOptions(int fetchSize, int fetchDirection, int maxRows, int queryTimeout) {
+    this.fetchSize = fetchSize;
+    this.fetchDirection = fetchDirection;
+    this.maxRows = maxRows;
+    this.queryTimeout = queryTimeout;
+  }
+}
@@ -0,0 +1,34 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+
+/**
+ * Restricts each row to the columns of a single table. The {@link ResultSetView} is built for the first row of a {@link ResultSet}
+ * and reused for the following rows, so a delegate that resolves its columns once per {@link ResultSet} also does so once, not once per row.
+ *
+ * As the view references its {@link ResultSet}, it is only weakly held between rows, so a closed {@link ResultSet} can be garbage collected.
+ * Threadsafe: concurrent queries may replace each other's view, which only costs rebuilding it.
+ */
+class TableRowProcessor<T> implements RowProcessor<T> {
+
+  private final RowProcessor<T> rowProcessor;
+  private final String table;
+  private volatile WeakReference<ResultSetView> view = new WeakReference<>(null);
+
+  TableRowProcessor(RowProcessor<T> rowProcessor, String table) {
+    this.rowProcessor = rowProcessor;
+    this.table = table;
+  }
+
+  @Override
+  public T handle(ResultSet resultSet) throws Exception {
+    ResultSetView currentView = view.get();
+    if (currentView == null || !currentView.isViewOf(resultSet)) {
+      currentView = new ResultSetView(resultSet, table);
+      view = new WeakReference<>(currentView);
+    }
+
+    return rowProcessor.handle(currentView);
+  }
+}
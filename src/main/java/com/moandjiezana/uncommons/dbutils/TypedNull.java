@@ -0,0 +1,66 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+
+/**
+ * A null parameter whose SQL type is known, so {@link QueryRunner} can call {@link PreparedStatement#setNull(int, int)} without looking the type up in the statement's {@link java.sql.ParameterMetaData}.
+ * Immutable.
+ * 
+ * <pre><code>
+ * queryRunner.batch("INSERT INTO persons(name, age) VALUES(?, ?)", asList(asList("John", TypedNull.of(JDBCType.INTEGER)), asList("Jane", 42)));
+ * </code></pre>
+ */
+public final class TypedNull {
+  
+  public static final TypedNull VARCHAR = new TypedNull(Types.VARCHAR);
+  public static final TypedNull INTEGER = new TypedNull(Types.INTEGER);
+  public static final TypedNull BIGINT = new TypedNull(Types.BIGINT);
+  public static final TypedNull TIMESTAMP = new TypedNull(Types.TIMESTAMP);
+  
+  /**
+   * @param sqlType
+   *    one of the constants in {@link Types}
+   * @return a null value of the given type
+   */
+  public static TypedNull of(int sqlType) {
+    return new TypedNull(sqlType);
+  }
+  
+  public static TypedNull of(JDBCType jdbcType) {
+    return new TypedNull(jdbcType.getVendorTypeNumber());
+  }
+  
+  private final int sqlType;
+  
+  /**
+   * @return one of the constants in {@link Types}
+   */
+  public int getSqlType() {
+    return sqlType;
+  }
+  
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof TypedNull && ((TypedNull) obj).sqlType == sqlType;
+  }
+  
+  @Override
+  public int hashCode() {
+    return sqlType;
+  }
+  
+  @Override
+  public String toString() {
+    try {
+      return "NULL(" + JDBCType.valueOf(sqlType).getName() + ")";
+    } catch (IllegalArgumentException e) {
+      return "NULL(" + sqlType + ")";
+    }
+  }
+  
+  private TypedNull(int sqlType) {
+    this.sqlType = sqlType;
+  }
+}
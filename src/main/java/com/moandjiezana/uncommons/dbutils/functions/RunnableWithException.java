@@ -0,0 +1,7 @@
+package com.moandjiezana.uncommons.dbutils.functions;
+
+@FunctionalInterface
+public interface RunnableWithException {
+
+  void run() throws Exception;
+}
@@ -0,0 +1,50 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.moandjiezana.uncommons.dbutils.AsyncQueryRunner.OverflowPolicy;
+
+public class AdmissionControllerTest {
+  
+  private static final int TASKS = 100_000;
+  
+  @Test
+  public void should_drain_queued_tasks_on_direct_executor_without_overflowing_stack() throws Exception {
+    AdmissionController admissionController = new AdmissionController(1, TASKS, OverflowPolicy.REJECT);
+    List<Integer> completed = new ArrayList<>();
+    
+    admissionController.submit(() -> {
+      IntStream.range(0, TASKS).forEach(i -> admissionController.submit(() -> completed.add(i), Runnable::run));
+      return null;
+    }, Runnable::run).join();
+    
+    assertEquals(IntStream.range(0, TASKS).boxed().collect(Collectors.toList()), completed);
+    assertEquals(0, admissionController.inFlight());
+    assertEquals(0, admissionController.queueDepth());
+  }
+  
+  @Test
+  public void should_drain_queued_tasks_rejected_by_executor_without_overflowing_stack() throws Exception {
+    AdmissionController admissionController = new AdmissionController(1, TASKS, OverflowPolicy.REJECT);
+    List<CompletableFuture<Object>> rejected = new ArrayList<>();
+    
+    admissionController.submit(() -> {
+      IntStream.range(0, TASKS).forEach(i -> rejected.add(admissionController.submit(() -> i, command -> { throw new RejectedExecutionException(); })));
+      return null;
+    }, Runnable::run).join();
+    
+    assertTrue(rejected.stream().allMatch(CompletableFuture::isCompletedExceptionally));
+    assertEquals(0, admissionController.inFlight());
+    assertEquals(0, admissionController.queueDepth());
+  }
+}
@@ -4,20 +4,37 @@ import static com.moandjiezana.uncommons.dbutils.ResultSetHandler.VOID;
 import static com.moandjiezana.uncommons.dbutils.ResultSetHandler.list;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.isA;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
+import org.h2.jdbcx.JdbcDataSource;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.moandjiezana.uncommons.dbutils.AsyncQueryRunner.OverflowPolicy;
 import com.moandjiezana.uncommons.dbutils.junit.TemporaryConnection;
 
 public class AsyncQueryRunnerTest {
@@ -67,6 +84,177 @@ public class AsyncQueryRunnerTest {
     assertEquals(6, executorUsed.intValue());
   }
   
+  @Test
+  public void should_limit_concurrent_queries() throws Exception {
+    ExecutorService executor = QueryExecutors.virtualThreads(2);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    AsyncQueryRunner runner = QueryRunner.create(connection.get()).toAsync(executor);
+    
+    try {
+      List<CompletableFuture<Object>> futures = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        futures.add(runner.select("SELECT 1", rs -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          Thread.sleep(10);
+          running.decrementAndGet();
+          return null;
+        }));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+    } finally {
+      executor.shutdown();
+    }
+    
+    assertTrue(maxRunning.get() <= 2);
+  }
+  
+  @Test
+  public void should_queue_then_reject_queries() throws Exception {
+    List<Runnable> submitted = new ArrayList<>();
+    AsyncQueryRunner runner = QueryRunner.create(connection.get()).toAsync(submitted::add).withAdmissionControl(1, 1, OverflowPolicy.REJECT);
+    
+    CompletableFuture<Integer> first = runner.execute("SELECT 1");
+    CompletableFuture<Integer> second = runner.execute("SELECT 1");
+    CompletableFuture<Integer> third = runner.execute("SELECT 1");
+    
+    assertEquals(1, submitted.size());
+    assertEquals(1, runner.getInFlight());
+    assertEquals(1, runner.getQueueDepth());
+    assertTrue(third.isCompletedExceptionally());
+    
+    submitted.remove(0).run();
+    assertTrue(first.isDone());
+    assertEquals(0, runner.getQueueDepth());
+    
+    submitted.remove(0).run();
+    assertTrue(second.isDone());
+    assertEquals(0, runner.getInFlight());
+  }
+  
+  @Test
+  public void should_run_overflow_on_caller_thread() throws Exception {
+    List<Runnable> submitted = new ArrayList<>();
+    AsyncQueryRunner runner = QueryRunner.create(connection.get()).toAsync(submitted::add).withAdmissionControl(1, 0, OverflowPolicy.CALLER_RUNS);
+    
+    CompletableFuture<Integer> first = runner.execute("SELECT 1");
+    CompletableFuture<Integer> second = runner.execute("SELECT 1");
+    
+    assertFalse(first.isDone());
+    assertTrue(second.isDone());
+    assertEquals(1, submitted.size());
+  }
+  
+  @Test
+  public void should_run_pinned_queries_in_order() throws Exception {
+    ExecutorService executor = QueryExecutors.fixedThreads(4);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<Integer> order = new ArrayList<>();
+    QueryRunner queryRunner = QueryRunner.create(connection.get());
+    
+    try {
+      List<CompletableFuture<Object>> futures = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        int query = i;
+        AsyncQueryRunner runner = queryRunner.toPinnedAsync(executor);
+        futures.add(runner.select("SELECT 1", rs -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          order.add(query);
+          Thread.sleep(1);
+          running.decrementAndGet();
+          return null;
+        }));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+    } finally {
+      executor.shutdown();
+    }
+    
+    assertEquals(1, maxRunning.get());
+    assertEquals(IntStream.range(0, 20).boxed().collect(toList()), order);
+  }
+  
+  @Test
+  public void should_run_queries_without_reactive_streams_on_classpath() throws Exception {
+    ClassLoader withoutReactiveStreams = new ClassLoader(getClass().getClassLoader()) {
+      @Override
+      protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (name.startsWith("org.reactivestreams.") || name.startsWith("com.moandjiezana.")) {
+          throw new ClassNotFoundException(name);
+        }
+        
+        return super.loadClass(name, resolve);
+      }
+    };
+    
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] { QueryRunner.class.getProtectionDomain().getCodeSource().getLocation() }, withoutReactiveStreams)) {
+      Class<?> queryRunnerClass = classLoader.loadClass(QueryRunner.class.getName());
+      Object queryRunner = queryRunnerClass.getMethod("create", Connection.class).invoke(null, connection.get());
+      Object asyncQueryRunner = queryRunnerClass.getMethod("toAsync", Executor.class).invoke(queryRunner, (Executor) Runnable::run);
+      Method execute = asyncQueryRunner.getClass().getMethod("execute", String.class, Object[].class);
+      
+      CompletableFuture<?> future = (CompletableFuture<?>) execute.invoke(asyncQueryRunner, "CREATE TABLE b(id INT)", new Object[0]);
+      
+      assertEquals(0, future.get());
+      assertEquals(classLoader, asyncQueryRunner.getClass().getClassLoader());
+    }
+  }
+  
+  @Test
+  public void should_run_async_transaction() throws Exception {
+    connection.get().prepareStatement("CREATE TABLE a(id IDENTITY, name VARCHAR(255))").execute();
+    QueryRunner queryRunner = QueryRunner.create(connection.get());
+    AsyncQueryRunner runner = queryRunner.toPinnedAsync();
+    
+    AsyncTransaction committed = runner.begin().get();
+    committed.insert("INSERT INTO a(name) VALUES(?)", VOID, "a")
+      .thenCompose(v -> CompletableFuture.supplyAsync(() -> "b"))
+      .thenCompose(name -> committed.execute("INSERT INTO a(name) VALUES(?)", name))
+      .thenCompose(count -> committed.commit())
+      .get();
+    
+    AsyncTransaction rolledBack = runner.begin().get();
+    rolledBack.execute("INSERT INTO a(name) VALUES(?)", "c");
+    rolledBack.rollback().get();
+    
+    assertThat(queryRunner.select("SELECT name FROM a ORDER BY id", list(RowProcessor.firstColumn(String.class))), contains("a", "b"));
+    assertTrue(connection.get().getAutoCommit());
+    assertTrue(committed.isEnded());
+    assertTrue(committed.execute("SELECT 1").isCompletedExceptionally());
+  }
+  
+  @Test
+  public void should_not_run_transaction_queries_after_connection_is_released() throws Exception {
+    JdbcDataSource h2DataSource = new JdbcDataSource();
+    h2DataSource.setURL("jdbc:h2:mem:async_transaction_test");
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    
+    try (Connection keepAlive = h2DataSource.getConnection(); ConnectionPool pool = ConnectionPool.create(h2DataSource, 1)) {
+      keepAlive.createStatement().execute("CREATE TABLE a(id INT)");
+      AsyncQueryRunner runner = QueryRunner.create(pool).toAsync(executor);
+      
+      for (int i = 0; i < 500; i++) {
+        AsyncTransaction tx = runner.begin().get();
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        CompletableFuture<CompletableFuture<Integer>> update = CompletableFuture.supplyAsync(() -> {
+          await(barrier);
+          return tx.execute("UPDATE a SET id = id");
+        });
+        await(barrier);
+        tx.commit().get();
+        
+        try {
+          update.get().get();
+        } catch (ExecutionException e) {
+          assertTrue(e.getCause().toString(), e.getCause() instanceof IllegalStateException);
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+  
   @Test
   public void should_signal_end_of_transaction() throws Exception {
     AsyncQueryRunner runner = QueryRunner.create(connection.get()).toAsync();
@@ -88,4 +276,11 @@ public class AsyncQueryRunnerTest {
     future.get();
   }
   
+  private static void await(CyclicBarrier barrier) {
+    try {
+      barrier.await();
+    } catch (InterruptedException | BrokenBarrierException e) {
+      throw new RuntimeException(e);
+    }
+  }
 }
@@ -0,0 +1,187 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import static com.moandjiezana.uncommons.dbutils.ResultSetHandler.single;
+import static com.moandjiezana.uncommons.dbutils.RowProcessor.firstColumn;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import uk.org.lidalia.slf4jext.Level;
+import uk.org.lidalia.slf4jtest.TestLoggerFactory;
+import uk.org.lidalia.slf4jtest.TestLoggerFactoryResetRule;
+
+public class ConnectionPoolTest {
+  
+  @Rule
+  public TestLoggerFactoryResetRule resetLogger = new TestLoggerFactoryResetRule();
+  
+  private final AtomicInteger physicalConnections = new AtomicInteger();
+  private Connection keepAlive;
+  private ConnectionPool pool;
+  
+  @Before
+  public void before() throws Exception {
+    JdbcDataSource h2DataSource = new JdbcDataSource();
+    h2DataSource.setURL("jdbc:h2:mem:connection_pool_test");
+    keepAlive = h2DataSource.getConnection();
+    DataSource countingDataSource = (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+      if (method.getName().equals("getConnection")) {
+        physicalConnections.incrementAndGet();
+      }
+      try {
+        return method.invoke(h2DataSource, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    });
+    pool = ConnectionPool.create(countingDataSource, 2, Duration.ofMinutes(1), Duration.ofMillis(10));
+  }
+  
+  @After
+  public void after() throws Exception {
+    pool.close();
+    keepAlive.close();
+  }
+  
+  @Test
+  public void should_run_transactions_without_logging_errors() throws Exception {
+    QueryRunner queryRunner = QueryRunner.create(pool);
+    queryRunner.execute("CREATE TABLE IF NOT EXISTS tx_test(id INT)");
+    
+    queryRunner.tx((txQueryRunner, tx) -> {
+      txQueryRunner.execute("INSERT INTO tx_test(id) VALUES(?)", 1);
+      tx.commit();
+    });
+    
+    assertEquals(1L, (long) queryRunner.select("SELECT COUNT(*) FROM tx_test", single(firstColumn(Long.class))));
+    assertTrue(TestLoggerFactory.getTestLogger(QueryRunner.class).getLoggingEvents().stream().noneMatch(event -> event.getLevel() == Level.ERROR));
+    try (Connection connection = pool.getConnection()) {
+      assertTrue(connection.getAutoCommit());
+    }
+  }
+  
+  @Test
+  public void should_reuse_returned_connections() throws Exception {
+    QueryRunner queryRunner = QueryRunner.create(pool);
+    
+    for (int i = 0; i < 5; i++) {
+      assertEquals(1, (int) queryRunner.select("SELECT 1", single(firstColumn(Integer.class))));
+    }
+    
+    assertEquals(1, physicalConnections.get());
+    assertEquals(1, pool.getIdleCount());
+    assertEquals(0, pool.getActiveCount());
+  }
+  
+  @Test
+  public void should_reset_connection_when_returned() throws Exception {
+    QueryRunner.create(pool).execute("CREATE TABLE a(id INT)");
+    
+    Connection connection = pool.getConnection();
+    connection.setAutoCommit(false);
+    QueryRunner.create(connection).execute("INSERT INTO a VALUES(1)");
+    connection.close();
+    
+    assertTrue(connection.isClosed());
+    try (Connection reused = pool.getConnection()) {
+      assertTrue(reused.getAutoCommit());
+      assertEquals(0L, (long) QueryRunner.create(reused).select("SELECT COUNT(*) FROM a", single(firstColumn(Long.class))));
+    }
+    assertEquals(1, physicalConnections.get());
+  }
+  
+  @Test(expected = SQLTransientConnectionException.class)
+  public void should_time_out_when_all_connections_are_in_use() throws Exception {
+    pool.getConnection();
+    pool.getConnection();
+    
+    pool.getConnection();
+  }
+  
+  @Test
+  public void should_close_idle_connections_when_closed() throws Exception {
+    Connection connection = pool.getConnection();
+    connection.close();
+    
+    pool.close();
+    
+    assertEquals(0, pool.getIdleCount());
+    assertFalse(keepAlive.isClosed());
+  }
+  
+  @Test
+  public void should_close_open_statements_when_returned() throws Exception {
+    Connection connection = pool.getConnection();
+    Statement statement = connection.createStatement();
+    PreparedStatement preparedStatement = connection.prepareStatement("SELECT 1");
+    
+    connection.close();
+    
+    assertTrue(statement.isClosed());
+    assertTrue(preparedStatement.isClosed());
+    assertEquals(1, pool.getIdleCount());
+  }
+  
+  @Test
+  public void should_return_connection_once_when_closed_twice() throws Exception {
+    Connection connection = pool.getConnection();
+    
+    connection.close();
+    connection.close();
+    
+    assertEquals(1, pool.getIdleCount());
+    assertEquals(0, pool.getActiveCount());
+  }
+  
+  @Test
+  public void should_reject_calls_once_closed() throws Exception {
+    Connection connection = pool.getConnection();
+    connection.close();
+    
+    try {
+      connection.createStatement();
+      fail();
+    } catch (SQLException e) {
+      assertEquals("08003", e.getSQLState());
+    }
+  }
+  
+  @Test
+  public void should_not_unwrap_to_physical_connection() throws Exception {
+    try (Connection connection = pool.getConnection()) {
+      assertTrue(connection.isWrapperFor(Connection.class));
+      assertSame(connection, connection.unwrap(Connection.class));
+      assertFalse(connection.isWrapperFor(JdbcConnection.class));
+      
+      try {
+        connection.unwrap(JdbcConnection.class);
+        fail();
+      } catch (SQLException e) {
+        assertThat(e.getMessage(), containsString(JdbcConnection.class.getName()));
+      }
+    }
+  }
+}
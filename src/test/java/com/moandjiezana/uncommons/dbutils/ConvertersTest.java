@@ -34,6 +34,52 @@ public class ConvertersTest {
     Assert.assertEquals("some text", result);
   }
   
+  @Test
+  public void should_convert_with_value_of_method() throws Exception {
+    Converters converters = new DefaultConverters();
+    
+    Assert.assertEquals("a", converters.convert(ValueOf.class, "a").value);
+    Assert.assertEquals("b", converters.convert(ValueOf.class, "b").value);
+    Assert.assertEquals(Long.valueOf(3), converters.convert(Long.class, "3"));
+  }
+  
+  @Test
+  public void should_use_converter_registered_after_conversion() throws Exception {
+    Converters converters = new DefaultConverters();
+    
+    Assert.assertEquals("a", converters.convert(ValueOf.class, "a").value);
+    
+    converters.register(ValueOf.class, (cl, value) -> ValueOf.valueOf("registered-" + value));
+    
+    Assert.assertEquals("registered-a", converters.convert(ValueOf.class, "a").value);
+  }
+  
+  @Test
+  public void should_fail_every_time_if_converting_to_unknown_type() throws Exception {
+    Converters converters = new DefaultConverters();
+    try {
+      converters.convert(Runnable.class, "abc");
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      expectedException.expect(IllegalArgumentException.class);
+      
+      converters.convert(Runnable.class, "abc");
+    }
+  }
+  
+  @Test
+  public void should_isolate_child_converters() throws Exception {
+    Converters parent = new DefaultConverters();
+    Converters child = parent.child();
+    
+    child.register(ValueOf.class, (cl, value) -> ValueOf.valueOf("child-" + value));
+    parent.register(Long.class, (cl, value) -> 42L);
+    
+    Assert.assertEquals("child-a", child.convert(ValueOf.class, "a").value);
+    Assert.assertEquals("a", parent.convert(ValueOf.class, "a").value);
+    Assert.assertEquals(Long.valueOf(42), child.convert(Long.class, "1"));
+  }
+  
   private static class SimpleClob implements Clob {
     
     private final String content;
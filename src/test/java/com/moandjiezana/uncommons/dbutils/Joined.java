@@ -9,6 +9,7 @@ public class Joined {
   Long id;
   String name;
   List<Joined.Relation> relations = new ArrayList<>();
+  List<Joined.Relation> tags = new ArrayList<>();
   
   public static class Relation {
     Long id;
@@ -0,0 +1,46 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void should_map_each_value_to_a_bucket_that_contains_it() throws Exception {
+    for (long value : new long[] { 0, 1, 15, 16, 17, 31, 32, 33, 1000, 1_000_000, 123_456_789, Long.MAX_VALUE / 3, Long.MAX_VALUE }) {
+      int index = LatencyHistogram.indexOf(value);
+
+      assertTrue(value + " <= highest value of its bucket", value <= LatencyHistogram.highestValueAt(index));
+      assertTrue(value + " > highest value of previous bucket", index == 0 || value > LatencyHistogram.highestValueAt(index - 1));
+    }
+  }
+
+  @Test
+  public void should_report_percentiles_within_precision() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    IntStream.rangeClosed(1, 10_000).forEach(i -> histogram.record(i * 1000L));
+
+    assertEquals(10_000, histogram.getCount());
+    assertEquals(10_000_000, histogram.getMax());
+    assertEquals(5_000_500, histogram.getMean(), 0.001);
+    assertWithin(5_000_000, histogram.getValueAtPercentile(50));
+    assertWithin(9_900_000, histogram.getValueAtPercentile(99));
+    assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void should_report_zero_when_empty() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertEquals(0, histogram.getValueAtPercentile(99));
+    assertEquals(0, histogram.getMean(), 0);
+  }
+
+  private static void assertWithin(long expected, long actual) {
+    assertTrue(actual + " is within 1/16 of " + expected, Math.abs(actual - expected) <= expected / 16);
+  }
+}
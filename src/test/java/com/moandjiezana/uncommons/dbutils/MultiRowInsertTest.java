@@ -0,0 +1,54 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class MultiRowInsertTest {
+
+  @Test
+  public void should_repeat_values_group() throws Exception {
+    MultiRowInsert multiRowInsert = MultiRowInsert.parse("INSERT INTO tbl(name, num) VALUES (?, COALESCE(?, 0)) ON CONFLICT DO NOTHING");
+    
+    assertEquals(2, multiRowInsert.getParametersPerRow());
+    assertEquals("INSERT INTO tbl(name, num) VALUES (?, COALESCE(?, 0)), (?, COALESCE(?, 0)) ON CONFLICT DO NOTHING", multiRowInsert.sql(2));
+  }
+  
+  @Test
+  public void should_ignore_quoted_text() throws Exception {
+    MultiRowInsert multiRowInsert = MultiRowInsert.parse("INSERT INTO \"values\"(name) VALUES ('?)')");
+    
+    assertEquals(0, multiRowInsert.getParametersPerRow());
+    assertEquals("INSERT INTO \"values\"(name) VALUES ('?)'), ('?)')", multiRowInsert.sql(2));
+  }
+  
+  @Test(expected = IllegalArgumentException.class)
+  public void should_reject_multiple_rows() throws Exception {
+    MultiRowInsert.parse("INSERT INTO tbl(name) VALUES (?), (?)");
+  }
+  
+  @Test
+  public void should_reject_parameters_after_values_group() throws Exception {
+    try {
+      MultiRowInsert.parse("INSERT INTO tbl(id, name) VALUES (?, ?) ON CONFLICT (id) DO UPDATE SET name = ?");
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e.getMessage(), containsString("only supports parameters inside the VALUES group"));
+    }
+  }
+  
+  @Test(expected = IllegalArgumentException.class)
+  public void should_reject_parameters_before_values_group() throws Exception {
+    MultiRowInsert.parse("WITH t AS (SELECT ? AS id) INSERT INTO tbl(id, name) VALUES ((SELECT id FROM t), ?)");
+  }
+  
+  @Test
+  public void should_allow_quoted_question_marks_after_values_group() throws Exception {
+    MultiRowInsert multiRowInsert = MultiRowInsert.parse("INSERT INTO tbl(id, name) VALUES (?, ?) ON CONFLICT (id) DO UPDATE SET name = 'why?'");
+    
+    assertEquals("INSERT INTO tbl(id, name) VALUES (?, ?), (?, ?) ON CONFLICT (id) DO UPDATE SET name = 'why?'", multiRowInsert.sql(2));
+  }
+}
@@ -0,0 +1,49 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ParameterTypesTest {
+  
+  private final AtomicInteger lookups = new AtomicInteger();
+  private final PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+    lookups.incrementAndGet();
+    return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ParameterMetaData.class }, (metaDataProxy, metaDataMethod, metaDataArgs) -> metaDataMethod.getName().equals("getParameterCount") ? 1 : Types.INTEGER);
+  });
+  
+  @Test
+  public void should_look_up_types_once_per_statement() throws Exception {
+    ParameterTypes parameterTypes = new ParameterTypes();
+    
+    assertEquals(Types.INTEGER, parameterTypes.typeOf(statement, "SELECT ?", 1));
+    assertEquals(Types.INTEGER, parameterTypes.typeOf(statement, "SELECT ?", 1));
+    
+    assertEquals(1, lookups.get());
+  }
+  
+  @Test
+  public void should_keep_caching_new_statements_when_full() throws Exception {
+    ParameterTypes parameterTypes = new ParameterTypes(2);
+    
+    parameterTypes.typeOf(statement, "SELECT 1, ?", 1);
+    parameterTypes.typeOf(statement, "SELECT 2, ?", 1);
+    parameterTypes.typeOf(statement, "SELECT 1, ?", 1);
+    parameterTypes.typeOf(statement, "SELECT 3, ?", 1);
+    parameterTypes.typeOf(statement, "SELECT 3, ?", 1);
+    parameterTypes.typeOf(statement, "SELECT 1, ?", 1);
+    
+    assertEquals(3, lookups.get());
+    assertEquals(2, parameterTypes.size());
+    
+    parameterTypes.typeOf(statement, "SELECT 2, ?", 1);
+    
+    assertEquals(4, lookups.get());
+  }
+}
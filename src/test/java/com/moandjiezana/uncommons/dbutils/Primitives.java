@@ -0,0 +1,13 @@
+package com.moandjiezana.uncommons.dbutils;
+
+public class Primitives {
+  byte b;
+  short s;
+  int i;
+  long l;
+  float f;
+  double d;
+  boolean bool;
+  Long wrappedLong;
+  Double wrappedDouble;
+}
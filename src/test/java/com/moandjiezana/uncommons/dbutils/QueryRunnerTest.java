@@ -6,6 +6,7 @@ import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.beanInstance
 import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.fields;
 import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.matching;
 import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.noArgsCreator;
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.properties;
 import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.underscoresToCamel;
 import static com.moandjiezana.uncommons.dbutils.ResultSetHandler.VOID;
 import static com.moandjiezana.uncommons.dbutils.ResultSetHandler.list;
@@ -19,25 +20,42 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.math.BigDecimal;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.hamcrest.Matchers;
@@ -45,6 +63,8 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 
+import com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.Access;
+import com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.MetaDataMapper;
 import com.moandjiezana.uncommons.dbutils.junit.TemporaryConnection;
 
 public class QueryRunnerTest {
@@ -143,6 +163,115 @@ public class QueryRunnerTest {
     }
   }
   
+  @Test
+  public void should_map_columns_once_per_result_set_shape() throws Exception {
+    queryRunner.batch("INSERT INTO tbl(name, num) VALUES(?,?)", asList(asList("a", 1), asList("b", 2), asList("c", 3)));
+    AtomicInteger mapperCalls = new AtomicInteger();
+    MetaDataMapper<String, Optional<AccessibleObject>> fields = fields(Tbl.class);
+    ObjectRowProcessor<Tbl> rowProcessor = new ObjectRowProcessor<Tbl>(noArgsCreator(Tbl.class), (rs, i, instance) -> {
+      mapperCalls.incrementAndGet();
+      return fields.apply(rs, i, rs.getMetaData().getColumnLabel(i));
+    });
+    
+    List<Tbl> tbls = queryRunner.select("SELECT name, num FROM tbl ORDER BY id", list(rowProcessor));
+    queryRunner.select("SELECT name, num FROM tbl ORDER BY id", list(rowProcessor));
+    Tbl tbl = queryRunner.select("SELECT id, name FROM tbl WHERE num = ?", single(rowProcessor), 2);
+    
+    assertThat(tbls.stream().map(t -> t.name + t.num).collect(toList()), contains("a1", "b2", "c3"));
+    assertEquals("b", tbl.name);
+    assertEquals(2L, tbl.id.longValue());
+    assertEquals(0, tbl.num);
+    assertEquals(4, mapperCalls.get());
+  }
+  
+  @Test
+  public void should_map_primitive_columns() throws Exception {
+    queryRunner.execute("CREATE TABLE primitives(b TINYINT, s SMALLINT, i INT, l BIGINT, f REAL, d DOUBLE, bool BOOLEAN, wrappedLong BIGINT, wrappedDouble DOUBLE)");
+    queryRunner.execute("INSERT INTO primitives VALUES(?,?,?,?,?,?,?,?,?)", 1, 2, 3, 4L, 5.5F, 6.5D, true, 7L, null);
+    queryRunner.execute("INSERT INTO primitives VALUES(?,?,?,?,?,?,?,?,?)", null, null, null, null, null, null, null, null, 8.5D);
+    
+    List<Primitives> primitives = queryRunner.select("SELECT * FROM primitives ORDER BY b NULLS LAST", list(RowProcessor.fieldsProcessor(Primitives.class)));
+    
+    Primitives values = primitives.get(0);
+    assertEquals(1, values.b);
+    assertEquals(2, values.s);
+    assertEquals(3, values.i);
+    assertEquals(4L, values.l);
+    assertEquals(5.5F, values.f, 0);
+    assertEquals(6.5D, values.d, 0);
+    assertTrue(values.bool);
+    assertEquals(Long.valueOf(7), values.wrappedLong);
+    assertNull(values.wrappedDouble);
+    
+    Primitives nulls = primitives.get(1);
+    assertEquals(0, nulls.b);
+    assertEquals(0L, nulls.l);
+    assertEquals(0D, nulls.d, 0);
+    assertFalse(nulls.bool);
+    assertNull(nulls.wrappedLong);
+    assertEquals(Double.valueOf(8.5), nulls.wrappedDouble);
+  }
+
+  @Test
+  public void should_use_converter_registered_for_primitive_wrapper() throws Exception {
+    queryRunner.execute("CREATE TABLE primitives(b TINYINT, s SMALLINT, i INT, l BIGINT, f REAL, d DOUBLE, bool BOOLEAN, wrappedLong BIGINT, wrappedDouble DOUBLE)");
+    queryRunner.execute("INSERT INTO primitives VALUES(?,?,?,?,?,?,?,?,?)", 1, 2, 3, 4L, 5.5F, 6.5D, true, 7L, 8.5D);
+    Converters converters = Converters.INSTANCE.child();
+    // only used when the column value is not already a Long
+    converters.register(Long.class, (cl, value) -> ((Number) value).longValue() * 100);
+
+    String sql = "SELECT l, CAST(wrappedLong AS INT) AS wrappedLong, wrappedDouble FROM primitives";
+
+    Primitives primitives = queryRunner.select(sql, single(RowProcessor.fieldsProcessor(Primitives.class, converters)));
+    Primitives tenantPrimitives = queryRunner.withConverters(converters).select(sql, single(RowProcessor.fieldsProcessor(Primitives.class)));
+
+    assertEquals(Long.valueOf(700), primitives.wrappedLong);
+    assertEquals(Long.valueOf(700), tenantPrimitives.wrappedLong);
+    assertEquals(4L, primitives.l);
+    assertEquals(Double.valueOf(8.5), primitives.wrappedDouble);
+  }
+
+  @Test
+  public void should_use_converter_registered_for_primitive() throws Exception {
+    queryRunner.execute("CREATE TABLE primitives(b TINYINT, s SMALLINT, i INT, l BIGINT, f REAL, d DOUBLE, bool BOOLEAN, wrappedLong BIGINT, wrappedDouble DOUBLE)");
+    queryRunner.execute("INSERT INTO primitives VALUES(?,?,?,?,?,?,?,?,?)", 1, 2, 3, 4L, 5.5F, 6.5D, true, 7L, 8.5D);
+    Converters converters = Converters.INSTANCE.child();
+    converters.register(int.class, (cl, value) -> ((Number) value).intValue() * 10);
+
+    Primitives fields = queryRunner.select("SELECT * FROM primitives", single(RowProcessor.fieldsProcessor(Primitives.class, converters)));
+    Primitives reflection = queryRunner.select("SELECT * FROM primitives", single(new ObjectRowProcessor<Primitives>(noArgsCreator(Primitives.class), matching(fields(Primitives.class)), Access.REFLECTION, converters)));
+
+    assertEquals(30, fields.i);
+    assertEquals(4L, fields.l);
+    assertEquals(30, reflection.i);
+  }
+
+  @Test
+  public void should_read_primitives_with_custom_converters() throws Exception {
+    queryRunner.execute("CREATE TABLE primitives(b TINYINT, s SMALLINT, i INT, l BIGINT, f REAL, d DOUBLE, bool BOOLEAN, wrappedLong BIGINT, wrappedDouble DOUBLE)");
+    queryRunner.execute("INSERT INTO primitives VALUES(?,?,?,?,?,?,?,?,?)", 1, 2, 3, 4L, 5.5F, 6.5D, true, 7L, null);
+    Converters converters = new Converters() {
+      @Override
+      public <T> T convert(Class<T> targetClass, Object value) {
+        return Converters.INSTANCE.convert(targetClass, value);
+      }
+
+      @Override
+      public <T> void register(Class<T> targetClass, Converter<T> converter) {
+        throw new UnsupportedOperationException();
+      }
+    };
+
+    Primitives primitives = queryRunner.select("SELECT * FROM primitives", single(RowProcessor.fieldsProcessor(Primitives.class, converters)));
+
+    assertEquals(1, primitives.b);
+    assertEquals(4L, primitives.l);
+    assertEquals(6.5D, primitives.d, 0);
+    assertTrue(primitives.bool);
+    assertEquals(Long.valueOf(7), primitives.wrappedLong);
+    assertNull(primitives.wrappedDouble);
+  }
+
   @Test
   public void should_map_result_set_with_custom_naming_conventions() throws Exception {
     Instant now = Instant.now();
@@ -237,6 +366,245 @@ public class QueryRunnerTest {
     assertThat(tbls, contains(result1, result2));
   }
   
+  @Test
+  public void should_stream_rows() throws Exception {
+    queryRunner.batch("INSERT INTO tbl(name) VALUES(?)", asList(asList("a"), asList("b"), asList("c")));
+    AtomicInteger finalized = new AtomicInteger();
+    QueryRunner streamingQueryRunner = new QueryRunner(() -> connection.get(), c -> finalized.incrementAndGet()).withFetchSize(2);
+    
+    try (Stream<String> names = streamingQueryRunner.stream("SELECT name FROM tbl ORDER BY name", firstColumn())) {
+      assertThat(names.collect(toList()), contains("a", "b", "c"));
+    }
+    
+    try (Stream<String> names = streamingQueryRunner.stream("SELECT name FROM tbl ORDER BY name", firstColumn())) {
+      assertEquals("a", names.findFirst().get());
+      assertEquals(1, finalized.get());
+    }
+    
+    assertEquals(2, finalized.get());
+  }
+  
+  @Test
+  public void should_apply_statement_options() throws Exception {
+    queryRunner.batch("INSERT INTO tbl(name) VALUES(?)", asList(asList("a"), asList("b"), asList("c")));
+    QueryRunner limitedQueryRunner = queryRunner.withStatementOptions(StatementOptions.DEFAULTS.maxRows(2).queryTimeout(10).fetchSize(1));
+    
+    List<String> names = limitedQueryRunner.select("SELECT name FROM tbl ORDER BY name", list(firstColumn()));
+    List<String> txNames = new ArrayList<>();
+    limitedQueryRunner.tx((qr, tx) -> txNames.addAll(qr.select("SELECT name FROM tbl ORDER BY name", list(firstColumn()))));
+    List<String> asyncNames = limitedQueryRunner.toAsync().select("SELECT name FROM tbl ORDER BY name", list(firstColumn(String.class))).get();
+    
+    assertThat(names, contains("a", "b"));
+    assertThat(txNames, contains("a", "b"));
+    assertThat(asyncNames, contains("a", "b"));
+    assertThat(queryRunner.select("SELECT name FROM tbl ORDER BY name", list(firstColumn(String.class))), hasSize(3));
+  }
+  
+  @Test
+  public void should_batch_in_chunks() throws Exception {
+    Stream<List<Object>> rows = IntStream.range(0, 2500).mapToObj(i -> asList("name" + i));
+    
+    BatchResult result = queryRunner.batch("INSERT INTO tbl(name) VALUES(?)", rows, BatchOptions.DEFAULTS.rows(1000));
+    
+    assertEquals(2500, result.getRows());
+    assertEquals(3, result.getChunks());
+    assertEquals(2500, result.getUpdateCount());
+    assertEquals(2500L, (long) queryRunner.select("SELECT COUNT(*) FROM tbl", single(firstColumn(Long.class))));
+  }
+  
+  @Test
+  public void should_commit_each_chunk() throws Exception {
+    Iterator<List<?>> rows = Arrays.<List<?>>asList(asList(1L, "a"), asList(2L, "b"), asList(3L, "c"), asList(1L, "duplicate")).iterator();
+    
+    try {
+      queryRunner.batch("INSERT INTO tbl(id, name) VALUES(?, ?)", rows, BatchOptions.DEFAULTS.rows(2).commitEachChunk(true));
+      fail();
+    } catch (RuntimeException e) {
+      assertThat(queryRunner.select("SELECT name FROM tbl ORDER BY id", list(firstColumn(String.class))), contains("a", "b"));
+      assertTrue(connection.get().getAutoCommit());
+    }
+  }
+
+  @Test
+  public void should_leave_caller_transaction_to_caller_when_committing_each_chunk() throws Exception {
+    Iterator<List<?>> rows = Arrays.<List<?>>asList(asList(2L, "b"), asList(3L, "c"), asList(2L, "duplicate")).iterator();
+
+    queryRunner.tx((qr, tx) -> {
+      qr.execute("INSERT INTO tbl(id, name) VALUES(?, ?)", 1L, "a");
+      try {
+        qr.batch("INSERT INTO tbl(id, name) VALUES(?, ?)", rows, BatchOptions.DEFAULTS.rows(2).commitEachChunk(true));
+        fail();
+      } catch (RuntimeException e) {
+        assertThat(qr.select("SELECT name FROM tbl ORDER BY id", list(firstColumn(String.class))), contains("a", "b", "c"));
+      }
+      tx.rollback();
+    });
+
+    assertThat(queryRunner.select("SELECT name FROM tbl ORDER BY id", list(firstColumn(String.class))), empty());
+  }
+
+  @Test
+  public void should_insert_with_multi_row_values() throws Exception {
+    Iterator<List<Object>> rows = IntStream.range(0, 5).mapToObj(i -> Arrays.<Object>asList("name" + i, i)).iterator();
+    
+    List<Long> ids = queryRunner.batchInsert("INSERT INTO tbl(name, num) VALUES (?, ?)", list(firstColumn(Long.class)), rows, BatchOptions.DEFAULTS.multiRowValues(true).maxParameters(4));
+    
+    // H2 1.4 only returns the last key of a multi-row INSERT
+    assertEquals(queryRunner.select("SELECT MAX(id) FROM tbl", single(firstColumn(Long.class))), ids.get(ids.size() - 1));
+    assertThat(queryRunner.select("SELECT num FROM tbl ORDER BY id", list(firstColumn(Integer.class))), contains(0, 1, 2, 3, 4));
+  }
+  
+  @Test
+  public void should_bind_typed_nulls() throws Exception {
+    queryRunner.batch("INSERT INTO tbl(name, num) VALUES(?, ?)", asList(asList("a", TypedNull.INTEGER), asList(TypedNull.of(JDBCType.VARCHAR), null), asList("c", 3)));
+    
+    List<Integer> nums = queryRunner.select("SELECT num FROM tbl ORDER BY id", list(firstColumn(Integer.class)));
+    long nullNames = queryRunner.select("SELECT COUNT(*) FROM tbl WHERE name IS NULL", single(firstColumn(Long.class)));
+    
+    assertEquals(Arrays.asList(null, null, 3), nums);
+    assertEquals(1, nullNames);
+  }
+  
+  @Test
+  public void should_bind_java_time_values() throws Exception {
+    Instant instant = Instant.parse("2015-03-04T05:06:07Z");
+    LocalDateTime localDateTime = LocalDateTime.of(2016, 1, 2, 3, 4, 5);
+    queryRunner.withBinders(Binders.INSTANCE.child().bindLocalTypesAsSqlTypes()).batch("INSERT INTO tbl(instant) VALUES(?)", asList(asList(instant), asList(localDateTime)));
+    
+    List<Timestamp> timestamps = queryRunner.select("SELECT instant FROM tbl ORDER BY id", list(firstColumn(Timestamp.class)));
+    
+    assertEquals(instant, timestamps.get(0).toInstant());
+    assertEquals(localDateTime, timestamps.get(1).toLocalDateTime());
+  }
+  
+  @Test
+  public void should_bind_local_java_time_values_with_set_object_by_default() throws Exception {
+    TimeZone defaultTimeZone = TimeZone.getDefault();
+    TimeZone.setDefault(TimeZone.getTimeZone("Europe/Paris"));
+    try {
+      LocalDateTime inDaylightSavingGap = LocalDateTime.of(2021, 3, 28, 2, 30);
+      List<Object> bound = new ArrayList<>();
+      PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> bound.add(args[1]));
+      
+      Binders.INSTANCE.bind(statement, 1, inDaylightSavingGap);
+      Binders.INSTANCE.bind(statement, 2, inDaylightSavingGap.toLocalDate());
+      Binders.INSTANCE.bind(statement, 3, inDaylightSavingGap.toLocalTime());
+      Binders.INSTANCE.child().bindLocalTypesAsSqlTypes().bind(statement, 4, inDaylightSavingGap);
+      
+      assertEquals(asList(inDaylightSavingGap, inDaylightSavingGap.toLocalDate(), inDaylightSavingGap.toLocalTime(), Timestamp.valueOf("2021-03-28 03:30:00")), bound);
+    } finally {
+      TimeZone.setDefault(defaultTimeZone);
+    }
+  }
+  
+  @Test
+  public void should_use_registered_binder() throws Exception {
+    Binders binders = Binders.INSTANCE.child();
+    binders.register(CharSequence.class, (statement, i, value) -> statement.setString(i, value.toString().toUpperCase()));
+    
+    queryRunner.withBinders(binders).execute("INSERT INTO tbl(name) VALUES(?)", new StringBuilder("abc"));
+    queryRunner.execute("INSERT INTO tbl(name) VALUES(?)", "def");
+    
+    assertThat(queryRunner.select("SELECT name FROM tbl ORDER BY id", list(firstColumn(String.class))), contains("ABC", "def"));
+  }
+
+  @Test
+  public void should_use_binder_registered_for_inherited_interface() throws Exception {
+    Binders binders = Binders.INSTANCE.child();
+    binders.register(Iterable.class, (statement, i, value) -> statement.setString(i, "iterable"));
+    binders.register(Collection.class, (statement, i, value) -> statement.setString(i, String.valueOf(value.size())));
+    QueryRunner bindingQueryRunner = queryRunner.withBinders(binders);
+    
+    bindingQueryRunner.execute("INSERT INTO tbl(name) VALUES(?)", new ArrayList<>(asList("a", "b")));
+    bindingQueryRunner.execute("INSERT INTO tbl(name) VALUES(?)", new LinkedHashSet<>(asList("a", "b", "c")));
+    bindingQueryRunner.execute("INSERT INTO tbl(name) VALUES(?)", Paths.get("a"));
+    
+    assertThat(queryRunner.select("SELECT name FROM tbl ORDER BY id", list(firstColumn(String.class))), contains("2", "3", "iterable"));
+  }
+  
+  @Test
+  public void should_reuse_cached_statements() throws Exception {
+    AtomicInteger prepared = new AtomicInteger();
+    Connection c = connection.get();
+    Connection countingConnection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+      if (method.getName().equals("prepareStatement")) {
+        prepared.incrementAndGet();
+      }
+      try {
+        return method.invoke(c, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    });
+    QueryRunner cachingQueryRunner = QueryRunner.create(countingConnection).withStatementCache(1);
+    
+    cachingQueryRunner.tx((qr, tx) -> {
+      for (int i = 0; i < 5; i++) {
+        qr.insert("INSERT INTO tbl(name) VALUES(?)", VOID, "name" + i);
+      }
+      tx.commit();
+    });
+    List<String> names = cachingQueryRunner.select("SELECT name FROM tbl WHERE name IS NOT NULL ORDER BY name", list(firstColumn(String.class)));
+    cachingQueryRunner.select("SELECT name FROM tbl WHERE name IS NOT NULL ORDER BY name", list(firstColumn(String.class)));
+    cachingQueryRunner.insert("INSERT INTO tbl(name) VALUES(?)", VOID, "name5");
+    
+    assertThat(names, contains("name0", "name1", "name2", "name3", "name4"));
+    assertEquals("insert, select, then insert again after eviction", 3, prepared.get());
+  }
+
+  @Test
+  public void should_report_query_events() throws Exception {
+    List<QueryEvent> events = new ArrayList<>();
+    QueryRunner listeningQueryRunner = queryRunner.withListener(events::add);
+
+    listeningQueryRunner.batch("INSERT INTO tbl(name) VALUES(?)", asList(singletonList("a"), singletonList("b"), singletonList("c")));
+    listeningQueryRunner.select("SELECT name FROM tbl", list(firstColumn(String.class)));
+    try (Stream<String> names = listeningQueryRunner.stream("SELECT name FROM tbl", firstColumn(String.class))) {
+      names.limit(2).count();
+    }
+    try {
+      listeningQueryRunner.execute("UPDATE missing_table SET name = ?", "x");
+      fail();
+    } catch (RuntimeException e) {}
+    listeningQueryRunner.tx((qr, tx) -> qr.execute("UPDATE tbl SET name = ?", "d"));
+
+    assertThat(events, hasSize(6));
+    assertEquals(QueryEvent.Operation.BATCH, events.get(0).getOperation());
+    assertEquals(3, events.get(0).getBatchSize());
+    assertEquals(3, events.get(0).getRows());
+    assertEquals("SELECT name FROM tbl", events.get(1).getSql());
+    assertEquals(3, events.get(1).getRows());
+    assertTrue(events.get(1).getExecuteNanos() > 0);
+    assertEquals(events.get(1).getTotalNanos(), events.get(1).getAcquireNanos() + events.get(1).getPrepareNanos() + events.get(1).getExecuteNanos() + events.get(1).getMapNanos() + events.get(1).getReleaseNanos());
+    assertEquals(QueryEvent.Operation.STREAM, events.get(2).getOperation());
+    assertEquals("stream closed after 2 rows", 2, events.get(2).getRows());
+    assertFalse(events.get(3).isSuccess());
+    assertEquals(QueryEvent.Operation.EXECUTE, events.get(4).getOperation());
+    assertEquals(3, events.get(4).getRows());
+    assertEquals("transaction is reported after the queries it contains", QueryEvent.Operation.TRANSACTION, events.get(5).getOperation());
+  }
+
+  @Test
+  public void should_count_rows_without_reflective_proxy() throws Exception {
+    queryRunner.execute("INSERT INTO tbl(name) VALUES(?)", "a");
+    List<QueryEvent> events = new ArrayList<>();
+
+    ResultSet resultSet = queryRunner.withListener(events::add).select("SELECT name FROM tbl", rs -> {
+      rs.next();
+      return rs;
+    });
+
+    assertFalse(Proxy.isProxyClass(resultSet.getClass()));
+    assertEquals(1, events.get(0).getRows());
+  }
+
+  @Test
+  public void should_ignore_listener_exceptions() throws Exception {
+    QueryRunner listeningQueryRunner = queryRunner.withListener(event -> { throw new IllegalStateException(); });
+
+    assertEquals(1, listeningQueryRunner.execute("INSERT INTO tbl(name) VALUES(?)", "a"));
+  }
+
   @Test
   public void should_not_save_if_auto_commit_is_off() throws Exception {
     String url = "jdbc:h2:mem:no_save_if_auto_commit_is_off";
@@ -319,6 +687,42 @@ public class QueryRunnerTest {
     assertEquals("a", valueOf.value);
   }
   
+  @Test
+  public void should_use_query_runner_converters() throws Exception {
+    queryRunner.execute("INSERT INTO tbl(id, name) VALUES(?,?)", 1L, "a");
+    QueryRunner tenantQueryRunner = queryRunner.withConverters(Converters.INSTANCE.child());
+    tenantQueryRunner.getConverters().register(ValueOf.class, (cl, value) -> ValueOf.valueOf("tenant-" + value));
+    
+    ValueOf tenantValue = tenantQueryRunner.select("SELECT name FROM tbl WHERE id = ?", single(firstColumn(ValueOf.class, tenantQueryRunner.getConverters())), 1L);
+    ValueOf defaultValue = queryRunner.select("SELECT name FROM tbl WHERE id = ?", single(firstColumn(ValueOf.class, queryRunner.getConverters())), 1L);
+    
+    assertEquals("tenant-a", tenantValue.value);
+    assertEquals("a", defaultValue.value);
+  }
+
+  @Test
+  public void should_apply_query_runner_converters_to_default_row_processors() throws Exception {
+    queryRunner.execute("INSERT INTO tbl(id, name) VALUES(?,?)", 1L, "a");
+    QueryRunner tenant1QueryRunner = queryRunner.withConverters(Converters.INSTANCE.child());
+    tenant1QueryRunner.getConverters().register(ValueOf.class, (cl, value) -> ValueOf.valueOf("tenant1-" + value));
+    QueryRunner tenant2QueryRunner = queryRunner.withConverters(Converters.INSTANCE.child());
+    tenant2QueryRunner.getConverters().register(ValueOf.class, (cl, value) -> ValueOf.valueOf("tenant2-" + value));
+    RowProcessor<ValueOf> rowProcessor = firstColumn(ValueOf.class);
+
+    ValueOf tenant1Value = tenant1QueryRunner.select("SELECT name FROM tbl WHERE id = ?", single(rowProcessor), 1L);
+    ValueOf tenant2Value = tenant2QueryRunner.select("SELECT name FROM tbl WHERE id = ?", single(rowProcessor), 1L);
+    ValueOf defaultValue = queryRunner.select("SELECT name FROM tbl WHERE id = ?", single(rowProcessor), 1L);
+    List<ValueOf> streamedValues;
+    try (Stream<ValueOf> stream = tenant2QueryRunner.stream("SELECT name FROM tbl WHERE id = ?", rowProcessor, 1L)) {
+      streamedValues = stream.collect(toList());
+    }
+
+    assertEquals("tenant1-a", tenant1Value.value);
+    assertEquals("tenant2-a", tenant2Value.value);
+    assertEquals("a", defaultValue.value);
+    assertEquals("tenant2-a", streamedValues.get(0).value);
+  }
+
   @Test
   public void should_set_object_field_to_null_if_not_found_in_result_set() throws Exception {
     queryRunner.execute("INSERT INTO tbl(id, name) VALUES(?,?)", 1L, "a");
@@ -388,6 +792,35 @@ public class QueryRunnerTest {
     assertEquals(3, tblBean.getNum());
   }
   
+  @Test
+  public void should_resolve_constructor_properties_per_result_set() throws Exception {
+    queryRunner.batch("INSERT INTO tbl(id, name) VALUES(?,?)", asList(asList(1L, "a"), asList(2L, "b")));
+    RowProcessor<TblBeanWithConstructor> rowProcessor = beanProcessor(TblBeanWithConstructor.class);
+    
+    List<TblBeanWithConstructor> all = queryRunner.select("SELECT id, name FROM tbl ORDER BY id", list(rowProcessor));
+    List<TblBeanWithConstructor> reordered = queryRunner.select("SELECT name AS NAME, id FROM tbl ORDER BY id", list(rowProcessor));
+    
+    assertThat(all.stream().map(t -> t.getId() + t.getName()).collect(toList()), contains("2a_constructor", "3b_constructor"));
+    assertThat(reordered.stream().map(t -> t.getId() + t.getName()).collect(toList()), contains("2a_constructor", "3b_constructor"));
+  }
+  
+  @Test
+  public void should_map_with_reflective_access() throws Exception {
+    Instant now = Instant.now();
+    queryRunner.execute("INSERT INTO tbl(id, name, instant, active, amount, num) VALUES(?,?,?,?,?,?)", 1L, "a", Timestamp.from(now), false, BigDecimal.ONE, 2);
+    
+    Tbl tbl = queryRunner.select("SELECT * FROM tbl WHERE id = ?", single(new ObjectRowProcessor<Tbl>(noArgsCreator(Tbl.class, Access.REFLECTION), matching(fields(Tbl.class)), Access.REFLECTION)), 1L);
+    TblBeanWithConstructor tblBean = queryRunner.select("SELECT * FROM tbl WHERE id = ?", single(new ObjectRowProcessor<TblBeanWithConstructor>(beanInstanceCreator(TblBeanWithConstructor.class, Access.REFLECTION), matching(properties(TblBeanWithConstructor.class)), Access.REFLECTION)), 1L);
+    
+    assertEquals(1L, tbl.id.longValue());
+    assertEquals("a", tbl.name);
+    assertEquals(now, tbl.instant);
+    assertEquals(2, tbl.num);
+    assertEquals(2L, tblBean.getId().longValue());
+    assertEquals("a_constructor", tblBean.getName());
+    assertEquals(3, tblBean.getNum());
+  }
+  
   @Test
   public void should_combine_two_columns() throws Exception {
     Instant now = Instant.now();
@@ -439,6 +872,29 @@ public class QueryRunnerTest {
     assertThat(joined2.relations.stream().map(tbl -> tbl.name).collect(toList()), contains("b2", "b4", "b5"));
   }
   
+  @Test
+  public void should_join_one_to_many_in_single_pass() throws Exception {
+    queryRunner.execute("CREATE TABLE a(id IDENTITY, name VARCHAR)");
+    queryRunner.execute("CREATE TABLE b(id IDENTITY, name VARCHAR, a_fk INT)");
+    queryRunner.execute("CREATE TABLE c(id IDENTITY, name VARCHAR, a_fk INT)");
+    queryRunner.batch("INSERT INTO a(name) VALUES(?)", asList(asList("a1"), asList("a2"), asList("a3")));
+    queryRunner.batch("INSERT INTO b(name, a_fk) VALUES(?,?)", asList(asList("b1", 1), asList("b2", 2), asList("b3", 1)));
+    queryRunner.batch("INSERT INTO c(name, a_fk) VALUES(?,?)", asList(asList("c1", 1), asList("c2", 1), asList("c3", 2)));
+    JoinResultSetHandler<Joined> handler = JoinResultSetHandler.from("a", "id", RowProcessor.fieldsProcessor(Joined.class))
+      .join("b", "id", RowProcessor.fieldsProcessor(Joined.Relation.class), (joined, relation) -> joined.relations.add(relation))
+      .join("c", "id", RowProcessor.fieldsProcessor(Joined.Relation.class), (joined, tag) -> joined.tags.add(tag));
+
+    List<Joined> joineds = queryRunner.select("SELECT a.*, b.*, c.* FROM a LEFT JOIN b ON a.id = b.a_fk LEFT JOIN c ON a.id = c.a_fk ORDER BY a.id, b.id, c.id", handler);
+
+    assertThat(joineds.stream().map(joined -> joined.name).collect(toList()), contains("a1", "a2", "a3"));
+    assertThat(joineds.get(0).relations.stream().map(relation -> relation.name).collect(toList()), contains("b1", "b3"));
+    assertThat(joineds.get(0).tags.stream().map(tag -> tag.name).collect(toList()), contains("c1", "c2"));
+    assertThat(joineds.get(1).relations.stream().map(relation -> relation.name).collect(toList()), contains("b2"));
+    assertThat(joineds.get(1).tags.stream().map(tag -> tag.name).collect(toList()), contains("c3"));
+    assertThat(joineds.get(2).relations, empty());
+    assertThat(joineds.get(2).tags, empty());
+  }
+
   @Test
   public void should_update_with_null_value() throws Exception {
     queryRunner.execute("INSERT INTO tbl(name) VALUES(?)", "n");
@@ -0,0 +1,127 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.moandjiezana.uncommons.dbutils.AsyncQueryRunner.OverflowPolicy;
+import com.moandjiezana.uncommons.dbutils.junit.TemporaryConnection;
+
+public class ReactiveQueriesTest {
+
+  @Rule
+  public TemporaryConnection connection = new TemporaryConnection("jdbc:h2:mem:");
+  
+  private final AtomicInteger released = new AtomicInteger();
+  private final List<Long> ids = new ArrayList<>();
+  private final AtomicReference<Subscription> subscription = new AtomicReference<>();
+  private final AtomicReference<Throwable> error = new AtomicReference<>();
+  private QueryRunner queryRunner;
+  
+  @Before
+  public void before() throws Exception {
+    connection.get().prepareStatement("CREATE TABLE a(id IDENTITY)").execute();
+    connection.get().prepareStatement("INSERT INTO a VALUES(1), (2), (3), (4)").execute();
+    queryRunner = new QueryRunner(() -> connection.get(), c -> released.incrementAndGet());
+  }
+  
+  @Test
+  public void should_publish_rows_on_demand() throws Exception {
+    AsyncQueryRunner runner = queryRunner.toAsync(Runnable::run);
+    
+    subscribe(runner);
+    
+    assertEquals(0, released.get());
+    subscription.get().request(2);
+    assertThat(ids, contains(1L, 2L));
+    assertEquals(0, released.get());
+    
+    subscription.get().cancel();
+    subscription.get().request(2);
+    assertThat(ids, contains(1L, 2L));
+    assertEquals(1, released.get());
+  }
+  
+  @Test
+  public void should_count_published_query_as_in_flight_until_released() throws Exception {
+    AsyncQueryRunner runner = queryRunner.toAsync(Runnable::run).withAdmissionControl(1, 0, OverflowPolicy.REJECT);
+    
+    subscribe(runner);
+    subscription.get().request(1);
+    
+    assertThat(ids, contains(1L));
+    assertEquals(1, runner.getInFlight());
+    try {
+      runner.execute("UPDATE a SET id = id WHERE id = 0").get();
+      fail();
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(RejectedExecutionException.class));
+    }
+    
+    subscription.get().cancel();
+    
+    assertEquals(0, runner.getInFlight());
+    assertEquals(1, released.get());
+    assertEquals(Integer.valueOf(0), runner.execute("UPDATE a SET id = id WHERE id = 0").get());
+  }
+  
+  @Test
+  public void should_release_connection_when_executor_rejects_next_rows() throws Exception {
+    AtomicBoolean rejecting = new AtomicBoolean();
+    Executor executor = command -> {
+      if (rejecting.get()) {
+        throw new RejectedExecutionException("test");
+      }
+      command.run();
+    };
+    
+    subscribe(queryRunner.toAsync(executor));
+    subscription.get().request(1);
+    rejecting.set(true);
+    subscription.get().request(1);
+    
+    assertThat(ids, contains(1L));
+    assertTrue(error.get() instanceof RejectedExecutionException);
+    assertEquals(1, released.get());
+  }
+  
+  private void subscribe(AsyncQueryRunner runner) {
+    ReactiveQueries.publish(runner, "SELECT id FROM a ORDER BY id", RowProcessor.firstColumn(Long.class)).subscribe(new Subscriber<Long>() {
+      @Override
+      public void onSubscribe(Subscription s) {
+        subscription.set(s);
+      }
+      
+      @Override
+      public void onNext(Long id) {
+        ids.add(id);
+      }
+      
+      @Override
+      public void onError(Throwable t) {
+        error.set(t);
+      }
+      
+      @Override
+      public void onComplete() {}
+    });
+  }
+}
@@ -1,5 +1,9 @@
 package com.moandjiezana.uncommons.dbutils;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -8,6 +12,7 @@ import static org.mockito.Mockito.when;
 import java.io.ByteArrayInputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.lang.ref.WeakReference;
 import java.math.BigDecimal;
 import java.sql.Array;
 import java.sql.Blob;
@@ -18,15 +23,22 @@ import java.sql.Ref;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.RowId;
+import java.sql.SQLException;
 import java.sql.SQLXML;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import org.junit.Test;
 
+import com.moandjiezana.uncommons.dbutils.testing.ResultSetShape;
+
 public class ResultSetViewTest {
 
   @Test
@@ -559,4 +571,77 @@ public class ResultSetViewTest {
     verify(metaData).getColumnClassName(1);
 
   }
+
+  @Test
+  public void should_find_columns_of_table_ignoring_case() throws Exception {
+    ResultSetShape shape = ResultSetShape.builder(1)
+      .table("persons").longColumn("id", i -> 1).column("name", Types.VARCHAR, i -> "Alice")
+      .table("orders").longColumn("ID", i -> 10).column("Total", Types.VARCHAR, i -> "5.00")
+      .build();
+
+    try (ResultSetView view = new ResultSetView(shape.open(), "orders")) {
+      view.next();
+
+      assertEquals(1, view.findColumn("ID"));
+      assertEquals(1, view.findColumn("id"));
+      assertEquals(2, view.findColumn("Total"));
+      assertEquals(2, view.findColumn("total"));
+      assertEquals(2, view.findColumn("TOTAL"));
+      assertEquals("ID", view.getMetaData().getColumnLabel(1));
+      assertEquals(10L, view.getLong("Id"));
+      assertEquals("5.00", view.getString(view.findColumn("total")));
+      assertEquals("orders", view.getMetaData().getTableName(2));
+    }
+  }
+
+  @Test(expected = SQLException.class)
+  public void should_not_find_columns_of_other_tables() throws Exception {
+    ResultSetShape shape = ResultSetShape.builder(1)
+      .table("persons").column("name", Types.VARCHAR, i -> "Alice")
+      .table("orders").longColumn("id", i -> 10)
+      .build();
+
+    new ResultSetView(shape.open(), "orders").findColumn("name");
+  }
+
+  @Test
+  public void should_reuse_view_for_each_row_of_a_ResultSet() throws Exception {
+    ResultSetShape shape = ResultSetShape.builder(3)
+      .table("persons").longColumn("id", i -> i)
+      .table("orders").longColumn("id", i -> 10 + i)
+      .build();
+    List<ResultSet> views = new ArrayList<>();
+    RowProcessor<Long> rowProcessor = rs -> {
+      views.add(rs);
+      return rs.getLong("id");
+    };
+    ResultSetHandler<List<Long>> ids = ResultSetHandler.list(rowProcessor.fromTable("orders"));
+
+    assertEquals(Arrays.asList(10L, 11L, 12L), ids.handle(shape.open()));
+    assertEquals(3, views.size());
+    assertSame(views.get(0), views.get(2));
+
+    ids.handle(shape.open());
+    assertNotSame(views.get(0), views.get(3));
+  }
+
+  @Test
+  public void should_not_keep_ResultSet_once_handled() throws Exception {
+    ResultSetShape shape = ResultSetShape.builder(3)
+      .table("orders").longColumn("id", i -> 10 + i)
+      .build();
+    RowProcessor<Long> rowProcessor = rs -> rs.getLong("id");
+    ResultSetHandler<List<Long>> ids = ResultSetHandler.list(rowProcessor.fromTable("orders"));
+    ResultSet resultSet = shape.open();
+    WeakReference<ResultSet> reference = new WeakReference<>(resultSet);
+
+    assertEquals(Arrays.asList(10L, 11L, 12L), ids.handle(resultSet));
+    resultSet = null;
+    for (int i = 0; i < 20 && reference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    assertNull(reference.get());
+  }
 }
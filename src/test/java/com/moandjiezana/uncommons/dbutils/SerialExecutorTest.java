@@ -0,0 +1,83 @@
+package com.moandjiezana.uncommons.dbutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class SerialExecutorTest {
+
+  private static final int TASKS = 100_000;
+
+  @Test
+  public void should_drain_queued_tasks_on_direct_executor_without_overflowing_stack() throws Exception {
+    SerialExecutor lane = new SerialExecutor();
+    List<Integer> completed = new ArrayList<>();
+
+    lane.execute(Runnable::run, () -> IntStream.range(0, TASKS).forEach(i -> lane.execute(Runnable::run, () -> completed.add(i))));
+
+    assertEquals(expected(), completed);
+  }
+
+  @Test
+  public void should_drain_queued_tasks_alternating_between_direct_executors_without_overflowing_stack() throws Exception {
+    SerialExecutor lane = new SerialExecutor();
+    List<Integer> completed = new ArrayList<>();
+    DirectExecutor executor1 = new DirectExecutor();
+    DirectExecutor executor2 = new DirectExecutor();
+
+    lane.execute(executor1, () -> IntStream.range(0, TASKS).forEach(i -> lane.execute(i % 2 == 0 ? executor1 : executor2, () -> completed.add(i))));
+
+    assertEquals(expected(), completed);
+  }
+
+  @Test
+  public void should_run_rejected_tasks_on_completing_thread() throws Exception {
+    SerialExecutor lane = new SerialExecutor();
+    List<Integer> completed = new ArrayList<>();
+
+    lane.execute(Runnable::run, () -> IntStream.range(0, TASKS).forEach(i -> lane.execute(command -> { throw new RejectedExecutionException(); }, () -> completed.add(i))));
+
+    assertEquals(expected(), completed);
+  }
+
+  @Test
+  public void should_run_tasks_in_order_on_thread_pool() throws Exception {
+    SerialExecutor lane = new SerialExecutor();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Integer> completed = new ArrayList<>();
+    CountDownLatch done = new CountDownLatch(1);
+
+    try {
+      IntStream.range(0, TASKS).forEach(i -> lane.execute(executor, () -> completed.add(i)));
+      lane.execute(executor, done::countDown);
+
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      assertEquals(expected(), completed);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static List<Integer> expected() {
+    return IntStream.range(0, TASKS).boxed().collect(Collectors.toList());
+  }
+
+  private static class DirectExecutor implements Executor {
+    @Override
+    public void execute(Runnable command) {
+      command.run();
+    }
+  }
+}
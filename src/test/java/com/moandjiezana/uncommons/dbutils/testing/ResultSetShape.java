@@ -0,0 +1,308 @@
+package com.moandjiezana.uncommons.dbutils.testing;
+
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * <p>The columns and rows of an in-memory {@link ResultSet}. Each column is stored in its own array, and BIGINT, INTEGER and DOUBLE columns in primitive arrays,
+ * so reading a value through a typed getter does not allocate.</p>
+ *
+ * <pre><code>
+ * ResultSetShape persons = ResultSetShape.builder(1000)
+ *   .table("persons")
+ *   .longColumn("id", i -&gt; i)
+ *   .column("name", Types.VARCHAR, i -&gt; "name" + i)
+ *   .intColumn("age", i -&gt; 20 + i % 50)
+ *   .build();
+ * ResultSet rs = persons.open();
+ * </code></pre>
+ *
+ * Immutable and threadsafe, so a single instance can back any number of concurrently open {@link ResultSet}s.
+ */
+public final class ResultSetShape {
+
+  public static final class Builder {
+    private final int rows;
+    private final List<String> labels = new ArrayList<>();
+    private final List<String> tables = new ArrayList<>();
+    private final List<Integer> types = new ArrayList<>();
+    private final List<Object> columns = new ArrayList<>();
+    private String table = "";
+
+    /**
+     * @param table
+     *    returned by {@link ResultSetMetaData#getTableName(int)} for the columns added after this call
+     * @return this Builder
+     */
+    public Builder table(String table) {
+      this.table = table;
+
+      return this;
+    }
+
+    /**
+     * @param label
+     *    the column's label and name
+     * @param values
+     *    computes the value of each row, by 0-based index
+     * @return this Builder
+     */
+    public Builder longColumn(String label, IntToLongFunction values) {
+      long[] column = new long[rows];
+      for (int i = 0; i < rows; i++) {
+        column[i] = values.applyAsLong(i);
+      }
+
+      return add(label, Types.BIGINT, column);
+    }
+
+    public Builder intColumn(String label, IntUnaryOperator values) {
+      int[] column = new int[rows];
+      for (int i = 0; i < rows; i++) {
+        column[i] = values.applyAsInt(i);
+      }
+
+      return add(label, Types.INTEGER, column);
+    }
+
+    public Builder doubleColumn(String label, IntToDoubleFunction values) {
+      double[] column = new double[rows];
+      for (int i = 0; i < rows; i++) {
+        column[i] = values.applyAsDouble(i);
+      }
+
+      return add(label, Types.DOUBLE, column);
+    }
+
+    /**
+     * @param label
+     *    the column's label and name
+     * @param sqlType
+     *    a constant from {@link Types}
+     * @param values
+     *    computes the value of each row, by 0-based index. May return null.
+     * @return this Builder
+     */
+    public Builder column(String label, int sqlType, IntFunction<?> values) {
+      Object[] column = new Object[rows];
+      for (int i = 0; i < rows; i++) {
+        column[i] = values.apply(i);
+      }
+
+      return add(label, sqlType, column);
+    }
+
+    public ResultSetShape build() {
+      return new ResultSetShape(rows, labels.toArray(new String[0]), tables.toArray(new String[0]), types.stream().mapToInt(Integer::intValue).toArray(), columns.toArray());
+    }
+
+    private Builder add(String label, int sqlType, Object column) {
+      labels.add(label);
+      tables.add(table);
+      types.add(sqlType);
+      columns.add(column);
+
+      return this;
+    }
+
+    private Builder(int rows) {
+      this.rows = rows;
+    }
+  }
+
+  /**
+   * @param rows
+   *    the number of rows in each {@link ResultSet}
+   * @return a Builder to which columns can be added
+   */
+  public static Builder builder(int rows) {
+    return new Builder(rows);
+  }
+
+  final int rows;
+  final String[] labels;
+  final String[] tables;
+  final int[] types;
+  final Object[] columns;
+  final ResultSetMetaData metaData = new MetaData();
+
+  /**
+   * @return a new {@link ResultSet}, positioned before the first row
+   */
+  public ResultSet open() {
+    return new ColumnarResultSet(this, null);
+  }
+
+  ResultSet open(Statement statement) {
+    return new ColumnarResultSet(this, statement);
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Case-insensitive and allocation-free.
+   */
+  int findColumn(String label) throws SQLException {
+    for (int i = 0; i < labels.length; i++) {
+      if (labels[i].equalsIgnoreCase(label)) {
+        return i + 1;
+      }
+    }
+
+    throw new SQLException("Column not found: " + label);
+  }
+
+  private ResultSetShape(int rows, String[] labels, String[] tables, int[] types, Object[] columns) {
+    this.rows = rows;
+    this.labels = labels;
+    this.tables = tables;
+    this.types = types;
+    this.columns = columns;
+  }
+
+  private class MetaData implements ResultSetMetaData {
+
+    @Override
+    public int getColumnCount() throws SQLException {
+      return labels.length;
+    }
+
+    @Override
+    public String getColumnLabel(int column) throws SQLException {
+      return labels[column - 1];
+    }
+
+    @Override
+    public String getColumnName(int column) throws SQLException {
+      return labels[column - 1];
+    }
+
+    @Override
+    public int getColumnType(int column) throws SQLException {
+      return types[column - 1];
+    }
+
+    @Override
+    public String getColumnTypeName(int column) throws SQLException {
+      return JDBCType.valueOf(types[column - 1]).getName();
+    }
+
+    @Override
+    public String getColumnClassName(int column) throws SQLException {
+      Object values = columns[column - 1];
+      if (values instanceof long[]) {
+        return Long.class.getName();
+      } else if (values instanceof int[]) {
+        return Integer.class.getName();
+      } else if (values instanceof double[]) {
+        return Double.class.getName();
+      }
+
+      for (Object value : (Object[]) values) {
+        if (value != null) {
+          return value.getClass().getName();
+        }
+      }
+
+      return Object.class.getName();
+    }
+
+    @Override
+    public String getTableName(int column) throws SQLException {
+      return tables[column - 1];
+    }
+
+    @Override
+    public String getSchemaName(int column) throws SQLException {
+      return "";
+    }
+
+    @Override
+    public String getCatalogName(int column) throws SQLException {
+      return "";
+    }
+
+    @Override
+    public int isNullable(int column) throws SQLException {
+      return columns[column - 1] instanceof Object[] ? columnNullableUnknown : columnNoNulls;
+    }
+
+    @Override
+    public boolean isAutoIncrement(int column) throws SQLException {
+      return false;
+    }
+
+    @Override
+    public boolean isCaseSensitive(int column) throws SQLException {
+      return true;
+    }
+
+    @Override
+    public boolean isSearchable(int column) throws SQLException {
+      return true;
+    }
+
+    @Override
+    public boolean isCurrency(int column) throws SQLException {
+      return false;
+    }
+
+    @Override
+    public boolean isSigned(int column) throws SQLException {
+      return !(columns[column - 1] instanceof Object[]);
+    }
+
+    @Override
+    public int getColumnDisplaySize(int column) throws SQLException {
+      return 0;
+    }
+
+    @Override
+    public int getPrecision(int column) throws SQLException {
+      return 0;
+    }
+
+    @Override
+    public int getScale(int column) throws SQLException {
+      return 0;
+    }
+
+    @Override
+    public boolean isReadOnly(int column) throws SQLException {
+      return true;
+    }
+
+    @Override
+    public boolean isWritable(int column) throws SQLException {
+      return false;
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int column) throws SQLException {
+      return false;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+      throw new SQLFeatureNotSupportedException("unwrap");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+      return false;
+    }
+  }
+}
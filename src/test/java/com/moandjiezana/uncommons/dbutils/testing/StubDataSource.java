@@ -0,0 +1,84 @@
+package com.moandjiezana.uncommons.dbutils.testing;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * <p>A {@link DataSource} with no database behind it, to measure or profile the library without measuring a driver.</p>
+ *
+ * <pre><code>
+ * QueryRunner queryRunner = QueryRunner.create(new StubDataSource(persons));
+ * List&lt;Person&gt; all = queryRunner.select("SELECT * FROM persons", list(fieldsProcessor(Person.class)));
+ * </code></pre>
+ *
+ * <ul>
+ *  <li>Every query, whatever its SQL and parameters, returns a new {@link java.sql.ResultSet} over the given {@link ResultSetShape}.</li>
+ *  <li>Every update and every row of a batch reports 1 affected row.</li>
+ *  <li>Generated keys are a single row with an <code>id</code> column set to 1.</li>
+ *  <li>Parameters are ignored and {@link java.sql.PreparedStatement#getParameterMetaData()} is not supported.</li>
+ * </ul>
+ *
+ * Each call to {@link #getConnection()} returns a new {@link Connection}. Connections and statements are not threadsafe, but the DataSource is.
+ */
+public final class StubDataSource implements DataSource {
+
+  private final ResultSetShape results;
+
+  /**
+   * @param results
+   *    the rows returned by every query
+   */
+  public StubDataSource(ResultSetShape results) {
+    this.results = results;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return new StubConnection(results);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return getConnection();
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return null;
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {}
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {}
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return 0;
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    throw new SQLFeatureNotSupportedException("getParentLogger");
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+
+    throw new SQLException("Not a wrapper for " + iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this);
+  }
+}
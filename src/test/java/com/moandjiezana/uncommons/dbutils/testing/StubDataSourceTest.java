@@ -0,0 +1,76 @@
+package com.moandjiezana.uncommons.dbutils.testing;
+
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.fields;
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.matching;
+import static com.moandjiezana.uncommons.dbutils.ObjectRowProcessor.noArgsCreator;
+import static com.moandjiezana.uncommons.dbutils.ResultSetHandler.list;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.moandjiezana.uncommons.dbutils.ColumnRowProcessor;
+import com.moandjiezana.uncommons.dbutils.ObjectRowProcessor;
+import com.moandjiezana.uncommons.dbutils.QueryRunner;
+import com.moandjiezana.uncommons.dbutils.ResultSetHandler;
+
+public class StubDataSourceTest {
+
+  public static class Row {
+    Long id;
+    String name;
+    int num;
+    Double ratio;
+  }
+
+  private final ResultSetShape shape = ResultSetShape.builder(3)
+    .longColumn("id", i -> i + 1)
+    .column("name", Types.VARCHAR, i -> i == 1 ? null : "name" + i)
+    .intColumn("num", i -> i * 10)
+    .doubleColumn("ratio", i -> i / 2.0)
+    .build();
+  private final QueryRunner queryRunner = QueryRunner.create(new StubDataSource(shape));
+
+  @Test
+  public void should_return_shape_from_every_select() throws Exception {
+    List<Row> rows = queryRunner.select("SELECT * FROM anything WHERE id > ?", list(new ObjectRowProcessor<>(noArgsCreator(Row.class), matching(fields(Row.class)))), 0);
+
+    assertEquals(3, rows.size());
+    assertEquals(3L, rows.get(2).id.longValue());
+    assertEquals("name0", rows.get(0).name);
+    assertNull(rows.get(1).name);
+    assertEquals(20, rows.get(2).num);
+    assertEquals(0.5, rows.get(1).ratio, 0);
+  }
+
+  @Test
+  public void should_report_one_updated_row_and_generated_key() throws Exception {
+    assertEquals(1, queryRunner.execute("UPDATE anything SET name = ?", "a"));
+    assertEquals(1L, queryRunner.insert("INSERT INTO anything(name) VALUES(?)", ResultSetHandler.single(ColumnRowProcessor.column(1, Long.class)), "a").longValue());
+  }
+
+  @Test
+  public void should_read_columns_by_label_and_track_nulls() throws Exception {
+    try (ResultSet rs = shape.open()) {
+      assertTrue(rs.next());
+      assertEquals(1L, rs.getLong("ID"));
+      assertEquals("name0", rs.getString("name"));
+      assertFalse(rs.wasNull());
+
+      assertTrue(rs.next());
+      assertNull(rs.getString("name"));
+      assertTrue(rs.wasNull());
+      assertEquals(10, rs.getInt("num"));
+      assertFalse(rs.wasNull());
+
+      assertTrue(rs.next());
+      assertFalse(rs.next());
+    }
+  }
+}
@@ -0,0 +1,452 @@
+package com.moandjiezana.uncommons.dbutils.testing;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * Ignores its parameters. Every query returns a new {@link ResultSet} over the same {@link ResultSetShape}, every update reports 1 row
+ * and the generated keys are a single row with an <code>id</code> of 1.
+ */
+final class StubPreparedStatement implements PreparedStatement {
+
+  private static final ResultSetShape GENERATED_KEYS = ResultSetShape.builder(1).longColumn("id", i -> 1).build();
+
+  private final StubConnection connection;
+  private final ResultSetShape results;
+  private int batchSize;
+  private int maxRows;
+  private int fetchSize;
+  private int queryTimeout;
+  private boolean closed;
+
+  StubPreparedStatement(StubConnection connection, ResultSetShape results) {
+    this.connection = connection;
+    this.results = results;
+  }
+
+  @Override
+  public ResultSet executeQuery() throws SQLException {
+    checkOpen();
+
+    return results.open(this);
+  }
+
+  @Override
+  public int executeUpdate() throws SQLException {
+    checkOpen();
+
+    return 1;
+  }
+
+  @Override
+  public void addBatch() throws SQLException {
+    batchSize++;
+  }
+
+  @Override
+  public int[] executeBatch() throws SQLException {
+    checkOpen();
+    int[] updateCounts = new int[batchSize];
+    Arrays.fill(updateCounts, 1);
+    batchSize = 0;
+
+    return updateCounts;
+  }
+
+  @Override
+  public void clearBatch() throws SQLException {
+    batchSize = 0;
+  }
+
+  @Override
+  public ResultSet getGeneratedKeys() throws SQLException {
+    return GENERATED_KEYS.open(this);
+  }
+
+  @Override
+  public void clearParameters() throws SQLException {}
+
+  @Override
+  public ParameterMetaData getParameterMetaData() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getParameterMetaData");
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return connection;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    closed = true;
+  }
+
+  @Override
+  public boolean isClosed() throws SQLException {
+    return closed;
+  }
+
+  @Override
+  public int getMaxRows() throws SQLException {
+    return maxRows;
+  }
+
+  @Override
+  public void setMaxRows(int max) throws SQLException {
+    this.maxRows = max;
+  }
+
+  @Override
+  public int getFetchSize() throws SQLException {
+    return fetchSize;
+  }
+
+  @Override
+  public void setFetchSize(int rows) throws SQLException {
+    this.fetchSize = rows;
+  }
+
+  @Override
+  public int getQueryTimeout() throws SQLException {
+    return queryTimeout;
+  }
+
+  @Override
+  public void setQueryTimeout(int seconds) throws SQLException {
+    this.queryTimeout = seconds;
+  }
+
+  @Override
+  public SQLWarning getWarnings() throws SQLException {
+    return null;
+  }
+
+  @Override
+  public void clearWarnings() throws SQLException {}
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+
+    throw new SQLException("Not a wrapper for " + iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this);
+  }
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType) throws SQLException {}
+
+  @Override
+  public void setBoolean(int parameterIndex, boolean x) throws SQLException {}
+
+  @Override
+  public void setByte(int parameterIndex, byte x) throws SQLException {}
+
+  @Override
+  public void setShort(int parameterIndex, short x) throws SQLException {}
+
+  @Override
+  public void setInt(int parameterIndex, int x) throws SQLException {}
+
+  @Override
+  public void setLong(int parameterIndex, long x) throws SQLException {}
+
+  @Override
+  public void setFloat(int parameterIndex, float x) throws SQLException {}
+
+  @Override
+  public void setDouble(int parameterIndex, double x) throws SQLException {}
+
+  @Override
+  public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {}
+
+  @Override
+  public void setString(int parameterIndex, String x) throws SQLException {}
+
+  @Override
+  public void setBytes(int parameterIndex, byte[] x) throws SQLException {}
+
+  @Override
+  public void setDate(int parameterIndex, Date x) throws SQLException {}
+
+  @Override
+  public void setTime(int parameterIndex, Time x) throws SQLException {}
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {}
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {}
+
+  @Override
+  public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {}
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {}
+
+  @Override
+  public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {}
+
+  @Override
+  public void setObject(int parameterIndex, Object x) throws SQLException {}
+
+  @Override
+  public boolean execute() throws SQLException {
+    throw new SQLFeatureNotSupportedException("execute");
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {}
+
+  @Override
+  public void setRef(int parameterIndex, Ref x) throws SQLException {}
+
+  @Override
+  public void setBlob(int parameterIndex, Blob x) throws SQLException {}
+
+  @Override
+  public void setClob(int parameterIndex, Clob x) throws SQLException {}
+
+  @Override
+  public void setArray(int parameterIndex, Array x) throws SQLException {}
+
+  @Override
+  public ResultSetMetaData getMetaData() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getMetaData");
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {}
+
+  @Override
+  public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {}
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {}
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {}
+
+  @Override
+  public void setURL(int parameterIndex, URL x) throws SQLException {}
+
+  @Override
+  public void setRowId(int parameterIndex, RowId x) throws SQLException {}
+
+  @Override
+  public void setNString(int parameterIndex, String value) throws SQLException {}
+
+  @Override
+  public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {}
+
+  @Override
+  public void setNClob(int parameterIndex, NClob value) throws SQLException {}
+
+  @Override
+  public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {}
+
+  @Override
+  public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {}
+
+  @Override
+  public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {}
+
+  @Override
+  public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {}
+
+  @Override
+  public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {}
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {}
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {}
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {}
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {}
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {}
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {}
+
+  @Override
+  public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {}
+
+  @Override
+  public void setClob(int parameterIndex, Reader reader) throws SQLException {}
+
+  @Override
+  public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {}
+
+  @Override
+  public void setNClob(int parameterIndex, Reader reader) throws SQLException {}
+
+  @Override
+  public ResultSet executeQuery(String sql) throws SQLException {
+    throw new SQLFeatureNotSupportedException("executeQuery");
+  }
+
+  @Override
+  public int executeUpdate(String sql) throws SQLException {
+    throw new SQLFeatureNotSupportedException("executeUpdate");
+  }
+
+  @Override
+  public int getMaxFieldSize() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getMaxFieldSize");
+  }
+
+  @Override
+  public void setMaxFieldSize(int max) throws SQLException {}
+
+  @Override
+  public void setEscapeProcessing(boolean enable) throws SQLException {}
+
+  @Override
+  public void cancel() throws SQLException {
+    throw new SQLFeatureNotSupportedException("cancel");
+  }
+
+  @Override
+  public void setCursorName(String name) throws SQLException {}
+
+  @Override
+  public boolean execute(String sql) throws SQLException {
+    throw new SQLFeatureNotSupportedException("execute");
+  }
+
+  @Override
+  public ResultSet getResultSet() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getResultSet");
+  }
+
+  @Override
+  public int getUpdateCount() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getUpdateCount");
+  }
+
+  @Override
+  public boolean getMoreResults() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getMoreResults");
+  }
+
+  @Override
+  public void setFetchDirection(int direction) throws SQLException {}
+
+  @Override
+  public int getFetchDirection() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getFetchDirection");
+  }
+
+  @Override
+  public int getResultSetConcurrency() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getResultSetConcurrency");
+  }
+
+  @Override
+  public int getResultSetType() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getResultSetType");
+  }
+
+  @Override
+  public void addBatch(String sql) throws SQLException {
+    throw new SQLFeatureNotSupportedException("addBatch");
+  }
+
+  @Override
+  public boolean getMoreResults(int current) throws SQLException {
+    throw new SQLFeatureNotSupportedException("getMoreResults");
+  }
+
+  @Override
+  public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+    throw new SQLFeatureNotSupportedException("executeUpdate");
+  }
+
+  @Override
+  public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+    throw new SQLFeatureNotSupportedException("executeUpdate");
+  }
+
+  @Override
+  public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+    throw new SQLFeatureNotSupportedException("execute");
+  }
+
+  @Override
+  public boolean execute(String sql, String[] columnNames) throws SQLException {
+    throw new SQLFeatureNotSupportedException("execute");
+  }
+
+  @Override
+  public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+    throw new SQLFeatureNotSupportedException("executeUpdate");
+  }
+
+  @Override
+  public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+    throw new SQLFeatureNotSupportedException("execute");
+  }
+
+  @Override
+  public int getResultSetHoldability() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getResultSetHoldability");
+  }
+
+  @Override
+  public void setPoolable(boolean poolable) throws SQLException {}
+
+  @Override
+  public boolean isPoolable() throws SQLException {
+    throw new SQLFeatureNotSupportedException("isPoolable");
+  }
+
+  @Override
+  public void closeOnCompletion() throws SQLException {
+    throw new SQLFeatureNotSupportedException("closeOnCompletion");
+  }
+
+  @Override
+  public boolean isCloseOnCompletion() throws SQLException {
+    throw new SQLFeatureNotSupportedException("isCloseOnCompletion");
+  }
+
+  private void checkOpen() throws SQLException {
+    if (closed) {
+      throw new SQLException("Statement is closed");
+    }
+  }
+}